@@ -1,8 +1,13 @@
 package com.atraparalagato.base.model;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Clase base abstracta para el tablero del juego.
@@ -20,7 +25,13 @@ import java.util.function.Predicate;
 public abstract class GameBoard<T extends Position> {
     
     protected final int size;
-    public Set<T> blockedPositions;
+    private final Set<T> blockedPositions;
+    
+    // Versión de las posiciones bloqueadas: aumenta con cada cambio
+    private volatile long version;
+    
+    // Copia inmutable de las posiciones bloqueadas y la versión con la que se construyó
+    private volatile BlockedView<T> blockedView;
     
     protected GameBoard(int size) {
         this.size = size;
@@ -76,18 +87,116 @@ public abstract class GameBoard<T extends Position> {
      */
     public abstract List<T> getPositionsWhere(Predicate<T> condition);
     
+    /**
+     * Variante perezosa de getPositionsWhere.
+     * Por defecto filtra la lista; los tableros pueden recorrer sus celdas sin materializarlas.
+     */
+    public Stream<T> streamPositionsWhere(Predicate<T> condition) {
+        return getPositionsWhere(condition).stream();
+    }
+    
     /**
      * Obtiene posiciones adyacentes a una posición dada.
      * Fundamental para algoritmos de pathfinding.
      */
     public abstract List<T> getAdjacentPositions(T position);
     
+    /**
+     * Recorre las posiciones adyacentes libres sin construir una lista.
+     * Ejemplo de programación funcional con Consumer.
+     * Los tableros pueden sobrescribirlo para no crear objetos intermedios.
+     */
+    public void forEachFreeNeighbor(T position, Consumer<T> action) {
+        for (T neighbor : getAdjacentPositions(position)) {
+            if (!isBlocked(neighbor)) {
+                action.accept(neighbor);
+            }
+        }
+    }
+    
+    /**
+     * Variante por índice denso de forEachFreeNeighbor (ver indexOf).
+     * Las estrategias la usan en sus ciclos internos. Por defecto pasa por las
+     * posiciones (positionAt, indexOf) y omite los vecinos sin índice; los tableros
+     * que numeran sus celdas deben sobrescribirlo para no crear objetos.
+     */
+    public void forEachFreeNeighbor(int index, IntConsumer action) {
+        forEachFreeNeighbor(positionAt(index), neighbor -> {
+            int neighborIndex = indexOf(neighbor);
+            if (neighborIndex >= 0) {
+                action.accept(neighborIndex);
+            }
+        });
+    }
+    
+    /**
+     * Cuenta las posiciones adyacentes libres.
+     */
+    public int countFreeNeighbors(T position) {
+        int[] count = {0};
+        forEachFreeNeighbor(position, neighbor -> count[0]++);
+        return count[0];
+    }
+    
+    /**
+     * Índice denso de una posición en este tablero, o -1 si está fuera.
+     * Por defecto usa Position.toIndex; los índices van de 0 a (celdas - 1).
+     */
+    public int indexOf(T position) {
+        return position.toIndex(size);
+    }
+    
+    /**
+     * Posición correspondiente a un índice denso (inversa de indexOf).
+     * Por defecto busca entre las posiciones del tablero la que tiene ese índice,
+     * en O(celdas); los tableros que numeran sus celdas deben sobrescribirlo.
+     * Lanza IndexOutOfBoundsException si ninguna posición tiene ese índice.
+     */
+    public T positionAt(int index) {
+        return streamPositionsWhere(position -> indexOf(position) == index)
+                .findFirst()
+                .orElseThrow(() -> new IndexOutOfBoundsException("Índice de celda fuera del tablero: " + index));
+    }
+    
+    /**
+     * Evalúa una función sobre el tablero como si se hubiera bloqueado la posición.
+     * Si el movimiento no es válido, la función ve el tablero sin cambios.
+     * 
+     * Por defecto evalúa sobre una capa propia de la llamada (TentativeBoard) con una
+     * copia de las posiciones bloqueadas: este tablero no se modifica y se puede
+     * llamar mientras otros hilos lo leen. Los tableros pueden sobrescribirlo con
+     * una capa más barata.
+     */
+    public <R> R withTentativeMove(T position, Function<GameBoard<T>, R> evaluation) {
+        if (!isValidMove(position)) {
+            return evaluation.apply(this);
+        }
+        return evaluation.apply(new TentativeBoard<>(this, position));
+    }
+    
     /**
      * Verifica si una posición está bloqueada.
      * Método de consulta básico.
      */
     public abstract boolean isBlocked(T position);
     
+    /**
+     * Verifica si una posición es borde, es decir, si el gato escapa al llegar a ella.
+     * Es la única definición de "escapar": estados y estrategias deben usarla.
+     * Por defecto es borde lo que queda fuera de size - 1 (el anillo exterior y más allá).
+     */
+    public boolean isAtBorder(T position) {
+        return !position.isWithinBounds(size - 1);
+    }
+    
+    /**
+     * Variante por índice denso de isAtBorder.
+     * Por defecto pasa por positionAt; los tableros que numeran sus celdas deben sobrescribirlo.
+     */
+    public boolean isAtBorder(int index) {
+        return isAtBorder(positionAt(index));
+    }
+    
     /**
      * Obtiene el tamaño del tablero.
      */
@@ -98,8 +207,162 @@ public abstract class GameBoard<T extends Position> {
     /**
      * Obtiene todas las posiciones bloqueadas.
      * Útil para serialización y estado del juego.
+     * 
+     * Retorna un conjunto inmutable que solo se vuelve a construir después de un
+     * cambio: leerlo varias veces entre movimientos no copia nada.
      */
     public final Set<T> getBlockedPositions() {
-        return Set.copyOf(blockedPositions);
+        long current = version;
+        BlockedView<T> view = blockedView;
+        if (view == null || view.version != current) {
+            view = new BlockedView<>(current, Set.copyOf(blockedPositions));
+            blockedView = view;
+        }
+        return view.positions;
+    }
+    
+    /**
+     * Cantidad de posiciones bloqueadas, sin copiar el conjunto.
+     */
+    public final int getBlockedCount() {
+        return blockedPositions.size();
+    }
+    
+    /**
+     * Versión de las posiciones bloqueadas. Cambia con cada modificación, así que
+     * sirve para saber si un estado leído antes sigue vigente (cachés, ETags).
+     */
+    public final long getVersion() {
+        return version;
+    }
+    
+    // Acceso de las subclases a las posiciones bloqueadas
+    
+    /**
+     * Conjunto interno de posiciones bloqueadas, para consultas de las subclases.
+     * Quien lo modifique directamente debe llamar a blockedPositionsChanged().
+     */
+    protected final Set<T> blockedPositions() {
+        return blockedPositions;
+    }
+    
+    protected final boolean addBlockedPosition(T position) {
+        boolean added = blockedPositions.add(position);
+        if (added) {
+            blockedPositionsChanged();
+        }
+        return added;
+    }
+    
+    protected final boolean removeBlockedPosition(T position) {
+        boolean removed = blockedPositions.remove(position);
+        if (removed) {
+            blockedPositionsChanged();
+        }
+        return removed;
+    }
+    
+    protected final void clearBlockedPositions() {
+        blockedPositions.clear();
+        blockedPositionsChanged();
+    }
+    
+    /**
+     * Invalida la copia de getBlockedPositions después de un cambio.
+     */
+    protected final void blockedPositionsChanged() {
+        version++;
+    }
+    
+    private static final class BlockedView<T> {
+        private final long version;
+        private final Set<T> positions;
+        
+        private BlockedView(long version, Set<T> positions) {
+            this.version = version;
+            this.positions = positions;
+        }
+    }
+    
+    /**
+     * Capa de withTentativeMove: copia las posiciones bloqueadas del tablero de origen,
+     * agrega la posición tentativa y delega la geometría (vecinos, borde, índices)
+     * en el origen, filtrando lo que la copia tiene bloqueado.
+     */
+    private static final class TentativeBoard<T extends Position> extends GameBoard<T> {
+        private final GameBoard<T> source;
+        
+        private TentativeBoard(GameBoard<T> source, T position) {
+            super(source.size);
+            this.source = source;
+            blockedPositions().addAll(source.getBlockedPositions());
+            addBlockedPosition(position);
+        }
+        
+        @Override
+        protected Set<T> initializeBlockedPositions() {
+            return new HashSet<>();
+        }
+        
+        @Override
+        protected boolean isPositionInBounds(T position) {
+            return source.isPositionInBounds(position);
+        }
+        
+        @Override
+        protected boolean isValidMove(T position) {
+            return !isBlocked(position) && source.isValidMove(position);
+        }
+        
+        @Override
+        protected void executeMove(T position) {
+            addBlockedPosition(position);
+        }
+        
+        @Override
+        public List<T> getPositionsWhere(Predicate<T> condition) {
+            return source.getPositionsWhere(condition);
+        }
+        
+        @Override
+        public List<T> getAdjacentPositions(T position) {
+            return source.getAdjacentPositions(position).stream()
+                    .filter(neighbor -> !isBlocked(neighbor))
+                    .toList();
+        }
+        
+        @Override
+        public void forEachFreeNeighbor(int index, IntConsumer action) {
+            source.forEachFreeNeighbor(index, neighbor -> {
+                if (!isBlocked(source.positionAt(neighbor))) {
+                    action.accept(neighbor);
+                }
+            });
+        }
+        
+        @Override
+        public int indexOf(T position) {
+            return source.indexOf(position);
+        }
+        
+        @Override
+        public T positionAt(int index) {
+            return source.positionAt(index);
+        }
+        
+        @Override
+        public boolean isBlocked(T position) {
+            return blockedPositions().contains(position);
+        }
+        
+        @Override
+        public boolean isAtBorder(T position) {
+            return source.isAtBorder(position);
+        }
+        
+        @Override
+        public boolean isAtBorder(int index) {
+            return source.isAtBorder(index);
+        }
     }
 } 
\ No newline at end of file
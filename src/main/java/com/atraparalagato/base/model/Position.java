@@ -46,6 +46,19 @@ public abstract class Position {
      */
     public abstract boolean isWithinBounds(int maxSize);
     
+    /**
+     * Codifica la posición como un índice entero denso dentro de un tablero de radio dado.
+     * Los índices van de 0 a (número de celdas - 1) sin huecos, lo que permite que los
+     * algoritmos trabajen con int[] y long[] en lugar de colecciones de objetos.
+     * Retorna -1 si la posición está fuera de ese radio.
+     * 
+     * Opcional: por defecto retorna -1 (sin codificación densa). Los sistemas de
+     * coordenadas que la tengan la sobrescriben, como HexPosition.
+     */
+    public int toIndex(int radius) {
+        return -1;
+    }
+    
     /**
      * Obtiene una representación única de la posición para hashing.
      * Importante para usar en Sets y Maps.
@@ -30,8 +30,12 @@ public class GameController {
     
     private final ExampleGameService exampleGameService;
     
+    // Un solo servicio: guarda en memoria las partidas en curso entre una consulta y otra
+    private final HexGameService hexGameService;
+    
     public GameController() {
         this.exampleGameService = new ExampleGameService();
+        this.hexGameService = new HexGameService();
     }
     
     /**
@@ -60,7 +64,7 @@ public class GameController {
             @RequestParam int q,
             @RequestParam int r) {
         try {
-            HexPosition position = new HexPosition(q, r);
+            HexPosition position = HexPosition.of(q, r);
             
             if (useExampleImplementation) {
                 return blockPositionWithExample(gameId, position);
@@ -211,24 +215,11 @@ public class GameController {
     private ResponseEntity<Map<String, Object>> startGameWithStudentImplementation(int boardSize) {
         // Los estudiantes deben implementar esto usando sus propias clases
         try {
-        // Instanciar el servicio de estudiantes
-        HexGameService hexGameService = new HexGameService();
-
         // Iniciar un nuevo juego con dificultad "normal" y sin opciones adicionales
-        HexGameState gameState = hexGameService.startNewGame(boardSize, "normal", new HashMap<>());
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("gameId", gameState.getGameId());
-        response.put("status", gameState.getStatus().toString());
-        response.put("catPosition", Map.of(
-            "q", gameState.getCatPosition().getQ(),
-            "r", gameState.getCatPosition().getR(),
-            "s", gameState.getCatPosition().getS()
-        ));
-        response.put("blockedCells", gameState.getGameBoard().getBlockedPositions());
-        response.put("movesCount", gameState.getMoveCount());
+        // La respuesta se arma mientras el servicio retiene el tablero de la partida
+        Map<String, Object> response =
+            hexGameService.startNewGame(boardSize, "normal", new HashMap<>(), this::describeGame);
         response.put("boardSize", boardSize);
-        response.put("implementation", "impl");
 
         return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -240,31 +231,16 @@ public class GameController {
     private ResponseEntity<Map<String, Object>> blockPositionWithStudentImplementation(String gameId, HexPosition position) {
         // Los estudiantes deben implementar esto usando sus propias clases
         try {
-        // Instanciar el servicio de estudiantes
-        HexGameService hexGameService = new HexGameService();
-
         // Ejecutar el movimiento del jugador (bloquear posición)
-        Optional<HexGameState> gameStateOpt = hexGameService.executePlayerMove(gameId, position, "player");
+        // Si la partida termina, su tablero vuelve a la reserva después de armar la respuesta
+        Optional<Map<String, Object>> response =
+            hexGameService.executePlayerMove(gameId, position, "player", this::describeGame);
 
-        if (gameStateOpt.isEmpty()) {
+        if (response.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
-        HexGameState gameState = gameStateOpt.get();
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("gameId", gameState.getGameId());
-        response.put("status", gameState.getStatus().toString());
-        response.put("catPosition", Map.of(
-            "q", gameState.getCatPosition().getQ(),
-            "r", gameState.getCatPosition().getR(),
-            "s", gameState.getCatPosition().getS()
-        ));
-        response.put("blockedCells", gameState.getGameBoard().getBlockedPositions());
-        response.put("movesCount", gameState.getMoveCount());
-        response.put("implementation", "impl");
-
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(response.get());
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                 .body(Map.of("error", "Error al ejecutar movimiento: " + e.getMessage()));
@@ -274,18 +250,22 @@ public class GameController {
     private ResponseEntity<Map<String, Object>> getGameStateWithStudentImplementation(String gameId) {
         // Los estudiantes deben implementar esto usando sus propias clases
         try {
-        // Instanciar el servicio de estudiantes
-        HexGameService hexGameService = new HexGameService();
-
         // Obtener el estado actual del juego
-        Optional<HexGameState> gameStateOpt = hexGameService.gameRepository.findById(gameId);
+        Optional<Map<String, Object>> response = hexGameService.withGame(gameId, this::describeGame);
 
-        if (gameStateOpt.isEmpty()) {
+        if (response.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
-        HexGameState gameState = gameStateOpt.get();
-
+        return ResponseEntity.ok(response.get());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                .body(Map.of("error", "Error al obtener estado del juego: " + e.getMessage()));
+        }
+    }
+    
+    // Respuesta con el estado de una partida; la arma el servicio mientras retiene su tablero
+    private Map<String, Object> describeGame(HexGameState gameState) {
         Map<String, Object> response = new HashMap<>();
         response.put("gameId", gameState.getGameId());
         response.put("status", gameState.getStatus().toString());
@@ -297,11 +277,6 @@ public class GameController {
         response.put("blockedCells", gameState.getGameBoard().getBlockedPositions());
         response.put("movesCount", gameState.getMoveCount());
         response.put("implementation", "impl");
-
-        return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError()
-                .body(Map.of("error", "Error al obtener estado del juego: " + e.getMessage()));
-        }
+        return response;
     }
-} 
\ No newline at end of file
+}
@@ -1,9 +1,13 @@
 package com.atraparalagato.example.model;
 
 import com.atraparalagato.base.model.GameBoard;
+import com.atraparalagato.impl.model.HexBorder;
 import com.atraparalagato.impl.model.HexPosition;
+import com.atraparalagato.impl.model.HexTopology;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -20,8 +24,24 @@ import java.util.stream.Collectors;
  */
 public class ExampleGameBoard extends GameBoard<HexPosition> {
     
+    // Vecinos precalculados, compartidos con los demás tableros del mismo tamaño
+    private final HexTopology topology;
+    
+    // Borde del tablero: solo el anillo exterior (anillo size), precalculado como bitmask.
+    // Las posiciones jugables son las de radio size - 1 y el gato escapa al salir de ellas.
+    // HexGameBoard, en cambio, cuenta como borde también el anillo size - 1
+    private final HexBorder border;
+    
+    // Total de posiciones jugables para las estadísticas; las bloqueadas las cuenta
+    // el conjunto (getBlockedCount)
+    private final int totalPositions;
+    
     public ExampleGameBoard(int size) {
         super(size);
+        this.topology = HexTopology.forRadius(size);
+        this.border = topology.border(size);
+        // Posiciones jugables: todo el tablero menos el borde (un hexágono de radio size - 1)
+        this.totalPositions = HexPosition.cellCount(size - 1);
     }
     
     @Override
@@ -51,7 +71,7 @@ public class ExampleGameBoard extends GameBoard<HexPosition> {
     @Override
     public void executeMove(HexPosition position) {
         // Agregar la posición a las posiciones bloqueadas
-        blockedPositions.add(position);
+        addBlockedPosition(position);
     }
     
     @Override
@@ -64,37 +84,93 @@ public class ExampleGameBoard extends GameBoard<HexPosition> {
     
     @Override
     public List<HexPosition> getAdjacentPositions(HexPosition position) {
-        // Direcciones hexagonales: las 6 direcciones posibles
-        HexPosition[] directions = {
-            new HexPosition(1, 0),   // Este
-            new HexPosition(1, -1),  // Noreste
-            new HexPosition(0, -1),  // Noroeste
-            new HexPosition(-1, 0),  // Oeste
-            new HexPosition(-1, 1),  // Suroeste
-            new HexPosition(0, 1)    // Sureste
-        };
-        
-        return Arrays.stream(directions)
-                .map(dir -> (HexPosition) position.add(dir))
-                .filter(this::isPositionInBounds) // Incluye posiciones del borde
-                .filter(pos -> !isBlocked(pos))   // Excluye posiciones bloqueadas
-                .collect(Collectors.toList());
+        // Los vecinos dentro del tablero ya están precalculados en la topología
+        List<HexPosition> adjacent = new ArrayList<>(6);
+        int index = topology.indexOf(position);
+        if (index < 0) {
+            // Posición fuera del tablero: calcular los vecinos a mano
+            for (int i = 0; i < 6; i++) {
+                HexPosition neighbor = position.neighbor(i);
+                if (isPositionInBounds(neighbor) && !isBlocked(neighbor)) {
+                    adjacent.add(neighbor);
+                }
+            }
+            return adjacent;
+        }
+        for (int k = topology.neighborStart(index), end = topology.neighborEnd(index); k < end; k++) {
+            HexPosition neighbor = topology.positionAt(topology.neighborAt(k));
+            if (!isBlocked(neighbor)) { // Incluye posiciones del borde
+                adjacent.add(neighbor);
+            }
+        }
+        return adjacent;
+    }
+    
+    @Override
+    public void forEachFreeNeighbor(HexPosition position, Consumer<HexPosition> action) {
+        int index = topology.indexOf(position);
+        if (index < 0) {
+            super.forEachFreeNeighbor(position, action);
+            return;
+        }
+        for (int k = topology.neighborStart(index), end = topology.neighborEnd(index); k < end; k++) {
+            HexPosition neighbor = topology.positionAt(topology.neighborAt(k));
+            if (!isBlocked(neighbor)) {
+                action.accept(neighbor);
+            }
+        }
+    }
+    
+    @Override
+    public void forEachFreeNeighbor(int index, IntConsumer action) {
+        for (int k = topology.neighborStart(index), end = topology.neighborEnd(index); k < end; k++) {
+            int neighbor = topology.neighborAt(k);
+            if (!isBlocked(topology.positionAt(neighbor))) {
+                action.accept(neighbor);
+            }
+        }
+    }
+    
+    @Override
+    public int countFreeNeighbors(HexPosition position) {
+        int index = topology.indexOf(position);
+        if (index < 0) {
+            return super.countFreeNeighbors(position);
+        }
+        int count = 0;
+        for (int k = topology.neighborStart(index), end = topology.neighborEnd(index); k < end; k++) {
+            if (!isBlocked(topology.positionAt(topology.neighborAt(k)))) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    @Override
+    public HexPosition positionAt(int index) {
+        return topology.positionAt(index);
     }
     
     @Override
     public boolean isBlocked(HexPosition position) {
         // Verificar si la posición está en el conjunto de bloqueadas
-        return blockedPositions.contains(position);
+        return blockedPositions().contains(position);
     }
     
     /**
      * Verifica si una posición está en el borde del tablero.
-     * El borde son las posiciones donde el gato puede escapar.
+     * El borde son las posiciones donde el gato puede escapar: en este ejemplo, el
+     * anillo size y lo que queda fuera del tablero (el jugador no lo puede bloquear).
      */
+    @Override
     public boolean isAtBorder(HexPosition position) {
-        return Math.abs(position.getQ()) == size ||
-               Math.abs(position.getR()) == size ||
-               Math.abs(position.getS()) == size;
+        int index = topology.indexOf(position);
+        return index < 0 || border.contains(index); // Fuera del tablero también cuenta como escape
+    }
+    
+    @Override
+    public boolean isAtBorder(int index) {
+        return border.contains(index);
     }
     
     // Método auxiliar para generar todas las posiciones posibles
@@ -104,7 +180,7 @@ public class ExampleGameBoard extends GameBoard<HexPosition> {
         // Generar todas las posiciones dentro del tablero (excluyendo el borde para jugabilidad)
         for (int q = -size + 1; q < size; q++) {
             for (int r = -size + 1; r < size; r++) {
-                HexPosition pos = new HexPosition(q, r);
+                HexPosition pos = HexPosition.of(q, r);
                 // Solo incluir posiciones que no están en el borde (donde el jugador puede jugar)
                 if (isPositionInBounds(pos) && !isAtBorder(pos)) {
                     positions.add(pos);
@@ -118,26 +194,37 @@ public class ExampleGameBoard extends GameBoard<HexPosition> {
     // Método adicional útil para debugging
     public void printBoard() {
         System.out.println("Estado del tablero (tamaño: " + size + "):");
-        System.out.println("Posiciones bloqueadas: " + blockedPositions.size());
+        System.out.println("Posiciones bloqueadas: " + getBlockedCount());
         
         // Imprimir algunas estadísticas básicas
-        long totalPositions = getAllPossiblePositions().size();
         System.out.println("Total de posiciones: " + totalPositions);
-        System.out.println("Posiciones libres: " + (totalPositions - blockedPositions.size()));
+        System.out.println("Posiciones libres: " + getFreePositions());
     }
     
     // Método para obtener estadísticas del tablero
     public Map<String, Object> getBoardStatistics() {
         Map<String, Object> stats = new HashMap<>();
-        List<HexPosition> allPositions = getAllPossiblePositions();
         
         stats.put("boardSize", size);
-        stats.put("totalPositions", allPositions.size());
-        stats.put("blockedPositions", blockedPositions.size());
-        stats.put("freePositions", allPositions.size() - blockedPositions.size());
-        stats.put("blockagePercentage", 
-                  (double) blockedPositions.size() / allPositions.size() * 100);
+        stats.put("totalPositions", totalPositions);
+        stats.put("blockedPositions", getBlockedCount());
+        stats.put("freePositions", getFreePositions());
+        stats.put("blockagePercentage", getBlockagePercentage());
         
         return stats;
     }
+    
+    // Contadores en O(1), sin recorrer el tablero
+    
+    public int getTotalPositions() {
+        return totalPositions;
+    }
+    
+    public int getFreePositions() {
+        return totalPositions - getBlockedCount();
+    }
+    
+    public double getBlockagePercentage() {
+        return (double) getBlockedCount() / totalPositions * 100;
+    }
 } 
\ No newline at end of file
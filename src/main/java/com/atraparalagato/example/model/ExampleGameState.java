@@ -27,7 +27,7 @@ public class ExampleGameState extends GameState<HexPosition> {
         super(gameId);
         this.boardSize = boardSize;
         this.gameBoard = new ExampleGameBoard(boardSize);
-        this.catPosition = new HexPosition(0, 0); // Gato empieza en el centro
+        this.catPosition = HexPosition.of(0, 0); // Gato empieza en el centro
     }
     
     @Override
@@ -111,7 +111,7 @@ public class ExampleGameState extends GameState<HexPosition> {
             @SuppressWarnings("unchecked")
             Map<String, Integer> catPos = (Map<String, Integer>) state.get("catPosition");
             if (catPos != null) {
-                this.catPosition = new HexPosition(catPos.get("q"), catPos.get("r"));
+                this.catPosition = HexPosition.of(catPos.get("q"), catPos.get("r"));
             }
             
             // Restaurar estado del juego
@@ -170,7 +170,7 @@ public class ExampleGameService {
         SimpleCatMovement strategy = new SimpleCatMovement(board);
         
         // Objetivo: cualquier posición en el borde del tablero
-        HexPosition targetPosition = new HexPosition(gameState.getBoardSize(), 0);
+        HexPosition targetPosition = HexPosition.of(gameState.getBoardSize(), 0);
         
         Optional<HexPosition> nextMove = strategy.findBestMove(currentPosition, targetPosition);
         
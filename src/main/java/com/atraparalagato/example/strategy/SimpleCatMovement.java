@@ -34,9 +34,9 @@ public class SimpleCatMovement extends CatMovementStrategy<HexPosition> {
     @Override
     protected List<HexPosition> getPossibleMoves(HexPosition currentPosition) {
         // Obtener posiciones adyacentes que no estén bloqueadas
-        return board.getAdjacentPositions(currentPosition).stream()
-                .filter(pos -> !board.isBlocked(pos))
-                .toList();
+        List<HexPosition> moves = new ArrayList<>(6);
+        board.forEachFreeNeighbor(currentPosition, moves::add);
+        return moves;
     }
     
     @Override
@@ -79,13 +79,8 @@ public class SimpleCatMovement extends CatMovementStrategy<HexPosition> {
     
     @Override
     protected Predicate<HexPosition> getGoalPredicate() {
-        // El objetivo es llegar al borde del tablero
-        return position -> {
-            int boardSize = board.getSize();
-            return Math.abs(position.getQ()) >= boardSize ||
-                   Math.abs(position.getR()) >= boardSize ||
-                   Math.abs(position.getS()) >= boardSize;
-        };
+        // El objetivo es llegar al borde del tablero, tal como lo define el tablero
+        return board::isAtBorder;
     }
     
     @Override
@@ -96,60 +91,43 @@ public class SimpleCatMovement extends CatMovementStrategy<HexPosition> {
     
     @Override
     public boolean hasPathToGoal(HexPosition currentPosition) {
-        // Implementación muy básica: BFS simple para verificar si hay camino al borde
-        Set<HexPosition> visited = new HashSet<>();
-        Queue<HexPosition> queue = new LinkedList<>();
-        
-        queue.offer(currentPosition);
-        visited.add(currentPosition);
-        
-        while (!queue.isEmpty()) {
-            HexPosition current = queue.poll();
-            
-            // Si llegamos al borde, hay camino
-            if (getGoalPredicate().test(current)) {
-                return true;
-            }
-            
-            // Explorar vecinos no bloqueados
-            for (HexPosition neighbor : board.getAdjacentPositions(current)) {
-                if (!visited.contains(neighbor) && !board.isBlocked(neighbor)) {
-                    visited.add(neighbor);
-                    queue.offer(neighbor);
-                }
-            }
-        }
-        
-        return false; // No se encontró camino al borde
+        // BFS simple para verificar si hay camino al borde
+        return !getFullPath(currentPosition, null).isEmpty();
     }
     
     @Override
     public List<HexPosition> getFullPath(HexPosition currentPosition, HexPosition targetPosition) {
-        // Implementación básica de BFS para encontrar camino
-        Map<HexPosition, HexPosition> parentMap = new HashMap<>();
-        Set<HexPosition> visited = new HashSet<>();
-        Queue<HexPosition> queue = new LinkedList<>();
+        // BFS hasta el objetivo o hasta el primer borde que aparezca,
+        // sobre los índices densos de celda del tablero
+        int start = board.indexOf(currentPosition);
+        if (start < 0) {
+            // Fuera del tablero el gato ya escapó
+            return board.isAtBorder(currentPosition) ? List.of(currentPosition) : Collections.emptyList();
+        }
+        int target = targetPosition == null ? -1 : board.indexOf(targetPosition);
         
-        queue.offer(currentPosition);
-        visited.add(currentPosition);
-        parentMap.put(currentPosition, null);
+        int[] parent = new int[HexPosition.cellCount(board.getSize())];
+        Arrays.fill(parent, -1); // -1: celda no visitada
+        int[] queue = new int[parent.length];
+        int[] tail = {1};
+        parent[start] = start;
+        queue[0] = start;
         
-        while (!queue.isEmpty()) {
-            HexPosition current = queue.poll();
+        for (int head = 0; head < tail[0]; head++) {
+            int current = queue[head];
             
             // Si llegamos al objetivo o al borde, reconstruir camino
-            if (current.equals(targetPosition) || getGoalPredicate().test(current)) {
-                return reconstructPath(parentMap, current);
+            if (current == target || board.isAtBorder(current)) {
+                return reconstructPath(parent, current);
             }
             
-            // Explorar vecinos
-            for (HexPosition neighbor : board.getAdjacentPositions(current)) {
-                if (!visited.contains(neighbor) && !board.isBlocked(neighbor)) {
-                    visited.add(neighbor);
-                    parentMap.put(neighbor, current);
-                    queue.offer(neighbor);
+            // Explorar vecinos no bloqueados
+            board.forEachFreeNeighbor(current, neighbor -> {
+                if (parent[neighbor] == -1) {
+                    parent[neighbor] = current;
+                    queue[tail[0]++] = neighbor;
                 }
-            }
+            });
         }
         
         return Collections.emptyList(); // No se encontró camino
@@ -157,6 +135,18 @@ public class SimpleCatMovement extends CatMovementStrategy<HexPosition> {
     
     // Métodos auxiliares privados
     
+    private List<HexPosition> reconstructPath(int[] parent, int end) {
+        List<HexPosition> path = new ArrayList<>();
+        for (int cell = end; ; cell = parent[cell]) {
+            path.add(board.positionAt(cell));
+            if (parent[cell] == cell) {
+                break;
+            }
+        }
+        Collections.reverse(path);
+        return path;
+    }
+    
     private Optional<HexPosition> selectBestMoveTowardsBorder(List<HexPosition> possibleMoves) {
         Function<HexPosition, Double> heuristic = getHeuristicFunction(null);
         
@@ -173,20 +163,6 @@ public class SimpleCatMovement extends CatMovementStrategy<HexPosition> {
         return Optional.of(possibleMoves.get(randomIndex));
     }
     
-    private List<HexPosition> reconstructPath(Map<HexPosition, HexPosition> parentMap, 
-                                            HexPosition goal) {
-        List<HexPosition> path = new ArrayList<>();
-        HexPosition current = goal;
-        
-        while (current != null) {
-            path.add(current);
-            current = parentMap.get(current);
-        }
-        
-        Collections.reverse(path);
-        return path;
-    }
-    
     // Hook methods con implementación básica
     @Override
     protected void beforeMovementCalculation(HexPosition currentPosition) {
@@ -0,0 +1,68 @@
+package com.atraparalagato.impl.model;
+
+import java.util.Set;
+
+/**
+ * Tablero hexagonal que guarda las celdas bloqueadas en un mapa de bits.
+ *
+ * Mantiene el mismo comportamiento que HexGameBoard, pero isBlocked y executeMove
+ * trabajan sobre el índice denso de la celda: no calculan hashes ni crean objetos.
+ * Un tablero de tamaño 11 ocupa unos 56 bytes de datos de bloqueo.
+ *
+ * Conceptos implementados:
+ * - OOP: Sustituye a HexGameBoard sin cambiar el contrato de GameBoard
+ * - Estructuras de Datos: bitset indexado por celda
+ */
+public class BitSetHexGameBoard extends HexGameBoard {
+
+    public BitSetHexGameBoard(int size) {
+        super(size);
+    }
+
+    /**
+     * Tablero sobre una topología dada (ver HexGameBoard).
+     */
+    protected BitSetHexGameBoard(int size, HexTopology topology) {
+        super(size, topology);
+    }
+
+    /**
+     * Tablero nuevo con las celdas bloqueadas de la foto.
+     */
+    public BitSetHexGameBoard(BoardSnapshot snapshot) {
+        this(snapshot.getRadius());
+        restore(snapshot);
+    }
+
+    @Override
+    protected Set<HexPosition> initializeBlockedPositions() {
+        return new BlockedCellSet(size);
+    }
+
+    @Override
+    public boolean isBlocked(HexPosition position) {
+        int index = position.toIndex(size);
+        return index >= 0 && cells().get(index);
+    }
+
+    @Override
+    public boolean isBlocked(int index) {
+        return cells().get(index);
+    }
+
+    @Override
+    public void executeMove(HexPosition position) {
+        int index = position.toIndex(size);
+        if (index < 0) {
+            throw new IllegalArgumentException("Position out of board: " + position);
+        }
+        if (cells().set(index)) {
+            blockedPositionsChanged();
+            onCellBlocked(index);
+        }
+    }
+
+    private BlockedCellSet cells() {
+        return (BlockedCellSet) blockedPositions();
+    }
+}
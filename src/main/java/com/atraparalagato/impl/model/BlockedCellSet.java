@@ -0,0 +1,183 @@
+package com.atraparalagato.impl.model;
+
+import java.nio.LongBuffer;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Conjunto de posiciones bloqueadas guardado como un mapa de bits.
+ *
+ * Cada celda del tablero ocupa un bit en un long[], indexado por el índice denso
+ * de HexPosition. Un tablero de radio 11 (397 celdas) cabe en 7 longs.
+ * Los longs se guardan en un LongBuffer: normalmente envuelve un long[] del heap,
+ * pero en tableros enormes puede estar mapeado fuera del heap.
+ *
+ * Conceptos implementados:
+ * - Estructuras de Datos: bitset en lugar de HashSet de objetos
+ * - OOP: Implementa la interfaz Set para seguir el contrato de GameBoard
+ */
+class BlockedCellSet extends AbstractSet<HexPosition> {
+
+    private final int radius;
+    private final int cellCount;
+    private final LongBuffer words;
+    private final int wordCount;
+    private int count;
+
+    BlockedCellSet(int radius) {
+        this(radius, LongBuffer.wrap(new long[wordCount(radius)]));
+    }
+
+    /**
+     * Conjunto vacío sobre un almacenamiento dado, con al menos wordCount(radius) longs en cero.
+     */
+    BlockedCellSet(int radius, LongBuffer words) {
+        this.radius = radius;
+        this.cellCount = HexPosition.cellCount(radius);
+        this.wordCount = wordCount(radius);
+        this.words = words;
+    }
+
+    /**
+     * Cantidad de longs necesarios para un tablero de radio dado.
+     */
+    static int wordCount(int radius) {
+        return (HexPosition.cellCount(radius) + 63) >>> 6;
+    }
+
+    int getRadius() {
+        return radius;
+    }
+
+    int getCellCount() {
+        return cellCount;
+    }
+
+    boolean get(int index) {
+        return (words.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * Marca la celda como bloqueada. Retorna false si ya lo estaba.
+     */
+    boolean set(int index) {
+        long mask = 1L << index;
+        int w = index >>> 6;
+        long word = words.get(w);
+        if ((word & mask) != 0) {
+            return false;
+        }
+        words.put(w, word | mask);
+        count++;
+        return true;
+    }
+
+    /**
+     * Libera la celda. Retorna false si no estaba bloqueada.
+     */
+    boolean unset(int index) {
+        long mask = 1L << index;
+        int w = index >>> 6;
+        long word = words.get(w);
+        if ((word & mask) == 0) {
+            return false;
+        }
+        words.put(w, word & ~mask);
+        count--;
+        return true;
+    }
+
+    /**
+     * Siguiente celda bloqueada a partir de index (inclusive), o -1 si no hay más.
+     */
+    int nextSetBit(int index) {
+        if (index >= cellCount) {
+            return -1;
+        }
+        int w = index >>> 6;
+        long word = words.get(w) & (-1L << index);
+        while (true) {
+            if (word != 0) {
+                int bit = (w << 6) + Long.numberOfTrailingZeros(word);
+                return bit < cellCount ? bit : -1;
+            }
+            if (++w == wordCount) {
+                return -1;
+            }
+            word = words.get(w);
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof HexPosition position)) {
+            return false;
+        }
+        int index = position.toIndex(radius);
+        return index >= 0 && get(index);
+    }
+
+    @Override
+    public boolean add(HexPosition position) {
+        int index = position.toIndex(radius);
+        if (index < 0) {
+            throw new IllegalArgumentException("Position out of board: " + position);
+        }
+        return set(index);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof HexPosition position)) {
+            return false;
+        }
+        int index = position.toIndex(radius);
+        return index >= 0 && unset(index);
+    }
+
+    @Override
+    public void clear() {
+        for (int w = 0; w < wordCount; w++) {
+            words.put(w, 0L);
+        }
+        count = 0;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public Iterator<HexPosition> iterator() {
+        return new Iterator<>() {
+            private int next = nextSetBit(0);
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public HexPosition next() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                last = next;
+                next = nextSetBit(next + 1);
+                return HexPosition.fromIndex(last, radius);
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                unset(last);
+                last = -1;
+            }
+        };
+    }
+}
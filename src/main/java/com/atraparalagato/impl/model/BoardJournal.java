@@ -0,0 +1,122 @@
+package com.atraparalagato.impl.model;
+
+/**
+ * Diario acotado de cambios del tablero.
+ *
+ * Cada movimiento agrega un registro compacto (celda bloqueada, número de jugada y
+ * posición del gato después de la jugada) con un número de secuencia creciente.
+ * Quien persiste, notifica o cachea el tablero puede leer solo los registros
+ * posteriores a la última secuencia que vio, en lugar de volver a serializar todas
+ * las celdas bloqueadas.
+ *
+ * Los registros viven en un buffer circular de arreglos primitivos: agregar no crea
+ * objetos y, cuando se llena, se pisan los más antiguos. Un lector que se quedó atrás
+ * lo detecta (forEachSince retorna false) y debe volver a leer el estado completo.
+ *
+ * Conceptos implementados:
+ * - Estructuras de Datos: buffer circular con arreglos paralelos
+ * - Programación Funcional: lectura con un visitante
+ */
+public final class BoardJournal {
+
+    /**
+     * Celda de los registros que no bloquean una celda sino que reemplazan el tablero
+     * completo (restaurar una foto, deshacer, rehacer).
+     */
+    public static final int RESTORED = -1;
+
+    /**
+     * Posición del gato todavía no informada.
+     */
+    public static final int UNKNOWN_CAT = -1;
+
+    /**
+     * Recibe los registros leídos del diario.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        void accept(long sequence, int cell, int moveNumber, int catIndex);
+    }
+
+    private final int capacity;
+    private final int[] cells;
+    private final int[] moveNumbers;
+    private final int[] cats;
+    private long nextSequence;
+    private int catIndex = UNKNOWN_CAT;
+
+    public BoardJournal(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must be non-negative: " + capacity);
+        }
+        this.capacity = capacity;
+        this.cells = new int[capacity];
+        this.moveNumbers = new int[capacity];
+        this.cats = new int[capacity];
+    }
+
+    /**
+     * Agrega un registro y retorna su número de secuencia.
+     */
+    public synchronized long append(int cell, int moveNumber) {
+        long sequence = nextSequence++;
+        if (capacity > 0) {
+            int slot = (int) (sequence % capacity);
+            cells[slot] = cell;
+            moveNumbers[slot] = moveNumber;
+            cats[slot] = catIndex;
+        }
+        return sequence;
+    }
+
+    /**
+     * Informa la nueva posición del gato. Corrige también el último registro, que
+     * guarda la posición del gato después de la jugada.
+     */
+    public synchronized void recordCatPosition(int catIndex) {
+        this.catIndex = catIndex;
+        if (capacity > 0 && nextSequence > 0) {
+            cats[(int) ((nextSequence - 1) % capacity)] = catIndex;
+        }
+    }
+
+    /**
+     * Descarta todos los registros y vuelve a empezar desde la secuencia 0, por ejemplo
+     * cuando el tablero se reutiliza en otra partida. Un lector que siga con una
+     * secuencia anterior recibe false en forEachSince.
+     */
+    public synchronized void reset() {
+        nextSequence = 0;
+        catIndex = UNKNOWN_CAT;
+    }
+
+    /**
+     * Secuencia que tendrá el próximo registro.
+     */
+    public synchronized long nextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * Secuencia del registro más antiguo que todavía se puede leer.
+     */
+    public synchronized long oldestSequence() {
+        return Math.max(0, nextSequence - capacity);
+    }
+
+    /**
+     * Entrega, en orden, los registros con secuencia mayor o igual a la dada.
+     * Retorna false, sin entregar nada, si alguno de ellos ya fue pisado o si la
+     * secuencia es de antes de un reset (mayor que la próxima).
+     */
+    public synchronized boolean forEachSince(long sequence, Visitor visitor) {
+        if (sequence < oldestSequence() || sequence > nextSequence) {
+            return false;
+        }
+        for (long s = sequence; s < nextSequence; s++) {
+            int slot = (int) (s % capacity);
+            visitor.accept(s, cells[slot], moveNumbers[slot], cats[slot]);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,145 @@
+package com.atraparalagato.impl.model;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Foto inmutable de las celdas bloqueadas de un tablero hexagonal.
+ *
+ * Es un mapa de bits persistente: los longs del bitset cuelgan de un árbol de
+ * 16 hijos por nodo y bloquear una celda copia solo el camino desde la raíz hasta
+ * su hoja; el resto de los nodos se comparte con la versión anterior. Así tomar
+ * una foto es O(1), cada movimiento crea una versión nueva pequeña y varias
+ * versiones pueden leerse a la vez desde distintos hilos sin copiar el tablero.
+ *
+ * Un subárbol null representa celdas todas libres, por lo que la foto vacía no
+ * ocupa memoria más allá de este objeto.
+ *
+ * Conceptos implementados:
+ * - Estructuras de Datos: árbol persistente con copia del camino (path copying)
+ * - Inmutabilidad: seguro de compartir entre hilos, historiales y análisis
+ */
+public final class BoardSnapshot {
+
+    private static final int BITS = 4;
+    private static final int FANOUT = 1 << BITS;
+    private static final int MASK = FANOUT - 1;
+
+    private final HexTopology topology;
+    private final int depth;
+    private final Object root;
+    private final int blockedCount;
+    private final long zobristHash;
+
+    private BoardSnapshot(HexTopology topology, int depth, Object root, int blockedCount, long zobristHash) {
+        this.topology = topology;
+        this.depth = depth;
+        this.root = root;
+        this.blockedCount = blockedCount;
+        this.zobristHash = zobristHash;
+    }
+
+    /**
+     * Foto de un tablero sin celdas bloqueadas.
+     */
+    public static BoardSnapshot empty(HexTopology topology) {
+        int words = (topology.getCellCount() + 63) >>> 6;
+        int depth = 0;
+        for (long reach = FANOUT; reach < words; reach <<= BITS) {
+            depth++;
+        }
+        return new BoardSnapshot(topology, depth, null, 0, 0L);
+    }
+
+    public int getRadius() {
+        return topology.getRadius();
+    }
+
+    public int getBlockedCount() {
+        return blockedCount;
+    }
+
+    /**
+     * Hash Zobrist de las celdas bloqueadas; coincide con HexGameBoard.getZobristHash().
+     */
+    public long getZobristHash() {
+        return zobristHash;
+    }
+
+    /**
+     * Verifica si la celda con el índice denso dado está bloqueada en esta foto.
+     */
+    public boolean isBlocked(int index) {
+        int word = index >>> 6;
+        Object node = root;
+        for (int level = depth; level > 0 && node != null; level--) {
+            node = ((Object[]) node)[(word >>> (BITS * level)) & MASK];
+        }
+        return node != null && (((long[]) node)[word & MASK] & (1L << index)) != 0;
+    }
+
+    public boolean isBlocked(HexPosition position) {
+        int index = topology.indexOf(position);
+        return index >= 0 && isBlocked(index);
+    }
+
+    /**
+     * Nueva versión con la celda bloqueada. Retorna esta misma foto si ya lo estaba.
+     */
+    public BoardSnapshot withBlocked(int index) {
+        if (index < 0 || index >= topology.getCellCount()) {
+            throw new IllegalArgumentException("Cell index out of board: " + index);
+        }
+        if (isBlocked(index)) {
+            return this;
+        }
+        Object newRoot = setBit(root, depth, index >>> 6, 1L << index);
+        return new BoardSnapshot(topology, depth, newRoot, blockedCount + 1,
+                zobristHash ^ topology.blockedKey(index));
+    }
+
+    public BoardSnapshot withBlocked(HexPosition position) {
+        return withBlocked(topology.indexOf(position));
+    }
+
+    /**
+     * Recorre los índices de las celdas bloqueadas en orden creciente.
+     */
+    public void forEachBlocked(IntConsumer action) {
+        forEach(root, depth, 0, action);
+    }
+
+    // Copia los nodos del camino hasta la hoja de la palabra y enciende el bit
+    private static Object setBit(Object node, int level, int word, long mask) {
+        if (level == 0) {
+            long[] leaf = node == null ? new long[FANOUT] : ((long[]) node).clone();
+            leaf[word & MASK] |= mask;
+            return leaf;
+        }
+        Object[] inner = node == null ? new Object[FANOUT] : ((Object[]) node).clone();
+        int slot = (word >>> (BITS * level)) & MASK;
+        inner[slot] = setBit(inner[slot], level - 1, word, mask);
+        return inner;
+    }
+
+    private static void forEach(Object node, int level, int firstWord, IntConsumer action) {
+        if (node == null) {
+            return;
+        }
+        if (level == 0) {
+            long[] leaf = (long[]) node;
+            for (int i = 0; i < FANOUT; i++) {
+                long word = leaf[i];
+                while (word != 0) {
+                    action.accept(((firstWord + i) << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return;
+        }
+        Object[] inner = (Object[]) node;
+        int span = 1 << (BITS * level);
+        for (int i = 0; i < FANOUT; i++) {
+            forEach(inner[i], level - 1, firstWord + i * span, action);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.atraparalagato.impl.model;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Distancia, en pasos por celdas libres, desde cada celda hasta el borde alcanzable más cercano.
+ *
+ * Se calcula una vez con un BFS multi-origen desde todas las celdas libres del borde.
+ * Después, cada vez que se bloquea una celda solo se reparan las celdas cuya distancia
+ * dependía de ella: bloquear nunca acorta caminos, así que basta con encontrar las celdas
+ * que se quedaron sin vecino a distancia d-1 y volver a relajar esa región.
+ *
+ * Conceptos implementados:
+ * - Algoritmos: BFS multi-origen y reparación incremental
+ * - Estructuras de Datos: arreglos indexados por celda, sin objetos por nodo
+ *
+ * Los arreglos por celda los pide al tablero (allocateCellInts/allocateCellBytes),
+ * así un tablero enorme puede guardarlos fuera del heap.
+ */
+final class BorderDistanceField {
+
+    static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private static final byte AFFECTED = 1;
+    private static final byte SETTLED = 2;
+
+    private final HexGameBoard board;
+    private final HexTopology topology;
+    private final int cellCount;
+    private final IntBuffer distance;
+
+    // Espacio de trabajo reutilizado entre reparaciones
+    private final IntBuffer queue;
+    private final IntBuffer affectedList;
+    private final ByteBuffer marks;
+
+    BorderDistanceField(HexGameBoard board) {
+        this.board = board;
+        this.topology = board.getTopology();
+        this.cellCount = topology.getCellCount();
+        this.distance = board.allocateCellInts(cellCount);
+        this.queue = board.allocateCellInts(cellCount);
+        this.affectedList = board.allocateCellInts(cellCount);
+        this.marks = board.allocateCellBytes(cellCount);
+        rebuild();
+    }
+
+    int distance(int index) {
+        return distance.get(index);
+    }
+
+    /**
+     * Recalcula todo el campo con un BFS desde las celdas libres del borde.
+     */
+    void rebuild() {
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < cellCount; i++) {
+            distance.put(i, UNREACHABLE);
+        }
+        HexBorder border = board.getBorder();
+        for (int b = 0, n = border.size(); b < n; b++) {
+            int cell = border.cellAt(b);
+            if (!board.isBlocked(cell)) {
+                distance.put(cell, 0);
+                queue.put(tail++, cell);
+            }
+        }
+        while (head < tail) {
+            int v = queue.get(head++);
+            int next = distance.get(v) + 1;
+            for (int k = topology.neighborStart(v), end = topology.neighborEnd(v); k < end; k++) {
+                int w = topology.neighborAt(k);
+                if (distance.get(w) == UNREACHABLE && !board.isBlocked(w)) {
+                    distance.put(w, next);
+                    queue.put(tail++, w);
+                }
+            }
+        }
+    }
+
+    /**
+     * Repara el campo después de bloquear la celda dada.
+     */
+    void onBlocked(int blocked) {
+        int old = distance.get(blocked);
+        distance.put(blocked, UNREACHABLE);
+        if (old == UNREACHABLE) {
+            return; // Nadie llegaba al borde a través de esta celda
+        }
+
+        // Fase 1: buscar, nivel por nivel, las celdas que se quedaron sin apoyo
+        int head = 0;
+        int tail = 0;
+        int affectedCount = 0;
+        tail = pushDependents(blocked, old, tail);
+        while (head < tail) {
+            int v = queue.get(head++);
+            if (hasSupport(v)) {
+                continue;
+            }
+            mark(v, AFFECTED);
+            affectedList.put(affectedCount++, v);
+            tail = pushDependents(v, distance.get(v), tail);
+        }
+        for (int i = 0; i < tail; i++) {
+            unmark(queue.get(i), SETTLED);
+        }
+        if (affectedCount == 0) {
+            return;
+        }
+
+        // Fase 2: distancia tentativa de cada celda afectada desde sus vecinos sanos
+        for (int i = 0; i < affectedCount; i++) {
+            distance.put(affectedList.get(i), UNREACHABLE);
+        }
+        for (int i = 0; i < affectedCount; i++) {
+            int v = affectedList.get(i);
+            int best = UNREACHABLE;
+            for (int k = topology.neighborStart(v), end = topology.neighborEnd(v); k < end; k++) {
+                int u = topology.neighborAt(k);
+                int du = distance.get(u);
+                if (!isMarked(u, AFFECTED) && du != UNREACHABLE && du + 1 < best) {
+                    best = du + 1;
+                }
+            }
+            distance.put(v, best);
+        }
+
+        // Fase 3: relajar la región en orden de distancia, mezclando las semillas
+        // ordenadas con una cola FIFO (todas las aristas cuestan 1)
+        int[] seeds = sortedByDistance(affectedCount);
+        int seed = 0;
+        head = 0;
+        tail = 0;
+        while (true) {
+            int v;
+            if (head < tail && (seed == seeds.length || distance.get(queue.get(head)) <= distance.get(seeds[seed]))) {
+                v = queue.get(head++);
+            } else if (seed < seeds.length) {
+                v = seeds[seed++];
+            } else {
+                break;
+            }
+            if (isMarked(v, SETTLED) || distance.get(v) == UNREACHABLE) {
+                continue;
+            }
+            mark(v, SETTLED);
+            int next = distance.get(v) + 1;
+            for (int k = topology.neighborStart(v), end = topology.neighborEnd(v); k < end; k++) {
+                int w = topology.neighborAt(k);
+                if (isMarked(w, AFFECTED) && !isMarked(w, SETTLED) && next < distance.get(w)) {
+                    distance.put(w, next);
+                    queue.put(tail++, w);
+                }
+            }
+        }
+
+        for (int i = 0; i < affectedCount; i++) {
+            marks.put(affectedList.get(i), (byte) 0);
+        }
+    }
+
+    // Encola (una sola vez) los vecinos libres que estaban a un paso más que v.
+    // Durante la fase 1, SETTLED marca las celdas ya encoladas.
+    private int pushDependents(int v, int level, int tail) {
+        for (int k = topology.neighborStart(v), end = topology.neighborEnd(v); k < end; k++) {
+            int w = topology.neighborAt(k);
+            if (distance.get(w) == level + 1 && !isMarked(w, SETTLED) && !board.isBlocked(w)) {
+                mark(w, SETTLED);
+                queue.put(tail++, w);
+            }
+        }
+        return tail;
+    }
+
+    // Una celda sigue apoyada si tiene un vecino sano a distancia d-1
+    private boolean hasSupport(int v) {
+        int wanted = distance.get(v) - 1;
+        for (int k = topology.neighborStart(v), end = topology.neighborEnd(v); k < end; k++) {
+            int u = topology.neighborAt(k);
+            if (distance.get(u) == wanted && !isMarked(u, AFFECTED) && !board.isBlocked(u)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isMarked(int v, byte flag) {
+        return (marks.get(v) & flag) != 0;
+    }
+
+    private void mark(int v, byte flag) {
+        marks.put(v, (byte) (marks.get(v) | flag));
+    }
+
+    private void unmark(int v, byte flag) {
+        marks.put(v, (byte) (marks.get(v) & ~flag));
+    }
+
+    // Celdas afectadas ordenadas por su distancia tentativa
+    private int[] sortedByDistance(int count) {
+        long[] keyed = new long[count];
+        for (int i = 0; i < count; i++) {
+            int cell = affectedList.get(i);
+            keyed[i] = ((long) distance.get(cell) << 32) | cell;
+        }
+        Arrays.sort(keyed);
+        int[] cells = new int[count];
+        for (int i = 0; i < count; i++) {
+            cells[i] = (int) keyed[i];
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,128 @@
+package com.atraparalagato.impl.model;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Topología precalculada en el heap, para los tamaños de tablero de una partida normal.
+ *
+ * Guarda, para cada índice denso de celda, su posición canónica (y sus coordenadas q, r
+ * en arreglos planos, para las heurísticas) y sus vecinos dentro
+ * del tablero en formato comprimido (CSR): los vecinos de la celda i son
+ * neighbors[neighborStart[i]] .. neighbors[neighborStart[i + 1] - 1].
+ * Además guarda una máscara de 6 bits por celda con las direcciones que quedan dentro
+ * del tablero y las claves Zobrist de cada celda.
+ *
+ * Conceptos implementados:
+ * - Flyweight: una sola instancia por tamaño de tablero (ver HexTopology.forRadius)
+ * - Estructuras de Datos: arreglos planos en lugar de listas de objetos
+ */
+final class CompactHexTopology extends HexTopology {
+
+    private final int cellCount;
+    private final HexPosition[] positions;
+    private final int[] qs;
+    private final int[] rs;
+    private final int[] neighborStart;
+    private final int[] neighbors;
+    private final byte[] directionMask;
+    private final long[] blockedKeys;
+    private final long[] catKeys;
+
+    CompactHexTopology(int radius) {
+        super(radius);
+        this.cellCount = HexPosition.cellCount(radius);
+        this.positions = new HexPosition[cellCount];
+        this.qs = new int[cellCount];
+        this.rs = new int[cellCount];
+        this.neighborStart = new int[cellCount + 1];
+        this.directionMask = new byte[cellCount];
+
+        int[] buffer = new int[cellCount * 6];
+        int edges = 0;
+        for (int i = 0; i < cellCount; i++) {
+            HexPosition position = HexPosition.fromIndex(i, radius);
+            positions[i] = position;
+            qs[i] = position.getQ();
+            rs[i] = position.getR();
+            neighborStart[i] = edges;
+            int mask = 0;
+            for (int d = 0; d < 6; d++) {
+                HexPosition dir = HexPosition.direction(d);
+                int neighbor = HexPosition.toIndex(position.getQ() + dir.getQ(), position.getR() + dir.getR(), radius);
+                if (neighbor >= 0) {
+                    buffer[edges++] = neighbor;
+                    mask |= 1 << d;
+                }
+            }
+            directionMask[i] = (byte) mask;
+        }
+        neighborStart[cellCount] = edges;
+        this.neighbors = Arrays.copyOf(buffer, edges);
+
+        SplittableRandom random = new SplittableRandom(ZOBRIST_SEED + radius);
+        this.blockedKeys = new long[cellCount];
+        this.catKeys = new long[cellCount];
+        for (int i = 0; i < cellCount; i++) {
+            blockedKeys[i] = random.nextLong();
+            catKeys[i] = random.nextLong();
+        }
+    }
+
+    @Override
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    @Override
+    public HexPosition positionAt(int index) {
+        return positions[index];
+    }
+
+    @Override
+    public int ringOf(int index) {
+        int q = qs[index];
+        int r = rs[index];
+        return Math.max(Math.abs(q), Math.max(Math.abs(r), Math.abs(q + r)));
+    }
+
+    @Override
+    public int qOf(int index) {
+        return qs[index];
+    }
+
+    @Override
+    public int rOf(int index) {
+        return rs[index];
+    }
+
+    @Override
+    public int neighborStart(int index) {
+        return neighborStart[index];
+    }
+
+    @Override
+    public int neighborEnd(int index) {
+        return neighborStart[index + 1];
+    }
+
+    @Override
+    public int neighborAt(int k) {
+        return neighbors[k];
+    }
+
+    @Override
+    public int directionMask(int index) {
+        return directionMask[index];
+    }
+
+    @Override
+    public long blockedKey(int index) {
+        return blockedKeys[index];
+    }
+
+    @Override
+    public long catKey(int index) {
+        return catKeys[index];
+    }
+}
@@ -0,0 +1,83 @@
+package com.atraparalagato.impl.model;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Celdas de borde de un tablero hexagonal: todas las de anillo mayor o igual a uno dado.
+ *
+ * Guarda el borde de dos formas: un mapa de bits indexado por celda, para que
+ * preguntar "¿es borde?" sea probar un bit, y la lista de índices en orden creciente,
+ * para recorrer solo el borde (por ejemplo, como orígenes de un BFS). Es inmutable y
+ * la topología la comparte entre todos los tableros del mismo tamaño.
+ *
+ * Conceptos implementados:
+ * - Estructuras de Datos: bitmask y lista ordenada precalculadas
+ * - Flyweight: una sola instancia por tamaño de tablero y anillo
+ */
+public final class HexBorder {
+
+    private final int minRing;
+    private final long[] mask;
+    private final int[] cells;
+
+    HexBorder(HexTopology topology, int minRing) {
+        int radius = topology.getRadius();
+        this.minRing = minRing;
+        this.mask = new long[(topology.getCellCount() + 63) >>> 6];
+
+        int[] buffer = new int[16];
+        int count = 0;
+        int index = 0;
+        // Recorrer las celdas en el orden de sus índices densos
+        for (int q = -radius; q <= radius; q++) {
+            int minR = Math.max(-radius, -q - radius);
+            int maxR = Math.min(radius, -q + radius);
+            for (int r = minR; r <= maxR; r++, index++) {
+                int ring = Math.max(Math.abs(q), Math.max(Math.abs(r), Math.abs(q + r)));
+                if (ring >= minRing) {
+                    mask[index >>> 6] |= 1L << index;
+                    if (count == buffer.length) {
+                        buffer = Arrays.copyOf(buffer, count * 2);
+                    }
+                    buffer[count++] = index;
+                }
+            }
+        }
+        this.cells = Arrays.copyOf(buffer, count);
+    }
+
+    /**
+     * Anillo a partir del cual las celdas son borde.
+     */
+    public int getMinRing() {
+        return minRing;
+    }
+
+    /**
+     * Verifica si la celda con el índice denso dado es borde.
+     */
+    public boolean contains(int index) {
+        return (mask[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public int size() {
+        return cells.length;
+    }
+
+    /**
+     * Índice de la i-ésima celda de borde, en orden creciente.
+     */
+    public int cellAt(int i) {
+        return cells[i];
+    }
+
+    /**
+     * Recorre los índices de las celdas de borde en orden creciente.
+     */
+    public void forEach(IntConsumer action) {
+        for (int cell : cells) {
+            action.accept(cell);
+        }
+    }
+}
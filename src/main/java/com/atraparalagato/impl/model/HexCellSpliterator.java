@@ -0,0 +1,71 @@
+package com.atraparalagato.impl.model;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator sobre un rango de índices densos de celdas.
+ *
+ * Entrega las posiciones canónicas de la topología sin materializar el tablero en
+ * una lista. Se divide por la mitad del rango, así que un stream paralelo reparte
+ * las celdas entre núcleos sin copiar nada.
+ *
+ * Conceptos implementados:
+ * - Programación Funcional: base para Stream<HexPosition> perezosos
+ * - Concurrencia: división del trabajo para streams paralelos
+ */
+final class HexCellSpliterator implements Spliterator<HexPosition> {
+
+    // Por debajo de este tamaño no vale la pena seguir dividiendo
+    private static final int MIN_SPLIT = 64;
+
+    private final HexTopology topology;
+    private int index;
+    private final int fence;
+
+    HexCellSpliterator(HexTopology topology, int origin, int fence) {
+        this.topology = topology;
+        this.index = origin;
+        this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super HexPosition> action) {
+        if (index >= fence) {
+            return false;
+        }
+        action.accept(topology.positionAt(index++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super HexPosition> action) {
+        int i = index;
+        index = fence;
+        for (; i < fence; i++) {
+            action.accept(topology.positionAt(i));
+        }
+    }
+
+    @Override
+    public Spliterator<HexPosition> trySplit() {
+        int remaining = fence - index;
+        if (remaining < MIN_SPLIT) {
+            return null;
+        }
+        int mid = index + (remaining >>> 1);
+        Spliterator<HexPosition> prefix = new HexCellSpliterator(topology, index, mid);
+        index = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | DISTINCT | NONNULL | IMMUTABLE;
+    }
+}
@@ -2,13 +2,20 @@ package com.atraparalagato.impl.model;
 
 import com.atraparalagato.base.model.GameBoard;
 
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Implementación esqueleto de GameBoard para tableros hexagonales.
@@ -22,8 +29,63 @@ import java.util.stream.Collectors;
  */
 public class HexGameBoard extends GameBoard<HexPosition> {
     
+    /**
+     * Distancia al borde de una celda bloqueada o encerrada.
+     */
+    public static final int UNREACHABLE = BorderDistanceField.UNREACHABLE;
+    
+    /**
+     * Registros que guarda el diario de cambios de cada tablero.
+     */
+    public static final int JOURNAL_CAPACITY = 256;
+    
+    // Vecinos precalculados, compartidos por todos los tableros del mismo tamaño
+    protected final HexTopology topology;
+    
+    // Celdas por las que escapa el gato (anillo size - 1 y el exterior), compartidas igual
+    protected final HexBorder border;
+    
+    // Distancia de cada celda al borde; se calcula la primera vez que se consulta
+    private BorderDistanceField borderDistance;
+    
+    // Versión persistente de las celdas bloqueadas; también lleva el hash Zobrist.
+    // Es volatile para que otros hilos lean siempre una versión completa
+    private volatile BoardSnapshot current;
+    
+    // Registro de los cambios, para leerlos por número de secuencia
+    private final BoardJournal journal;
+    
     public HexGameBoard(int size) {
+        this(size, HexTopology.forRadius(size));
+    }
+    
+    /**
+     * Tablero sobre una topología dada (por ejemplo, una mapeada fuera del heap).
+     */
+    protected HexGameBoard(int size, HexTopology topology) {
         super(size);
+        if (topology.getRadius() != size) {
+            throw new IllegalArgumentException("Topology radius " + topology.getRadius()
+                    + " does not match board size " + size);
+        }
+        this.topology = topology;
+        this.border = topology.border(size - 1);
+        this.current = BoardSnapshot.empty(topology);
+        this.journal = createJournal();
+    }
+    
+    /**
+     * Crea el diario de cambios del tablero. Las capas temporales no necesitan registrar nada.
+     */
+    protected BoardJournal createJournal() {
+        return new BoardJournal(JOURNAL_CAPACITY);
+    }
+    
+    /**
+     * Diario de cambios del tablero (ver BoardJournal).
+     */
+    public BoardJournal getJournal() {
+        return journal;
     }
     
     @Override
@@ -59,8 +121,80 @@ public class HexGameBoard extends GameBoard<HexPosition> {
     public void executeMove(HexPosition position) {
         // Actualizar el estado interno del tablero
         // Agregar la posición a las posiciones bloqueadas
-        blockedPositions.add(position);
+        if (addBlockedPosition(position)) {
+            int index = topology.indexOf(position);
+            if (index >= 0) {
+                onCellBlocked(index);
+            }
+        }
+    }
+    
+    /**
+     * Hash Zobrist de las celdas bloqueadas. Se actualiza en O(1) con cada movimiento,
+     * así que sirve como clave de tablas de transposición o cachés sin recorrer el conjunto.
+     */
+    public long getZobristHash() {
+        return current.getZobristHash();
+    }
+    
+    /**
+     * Foto inmutable de las celdas bloqueadas. Es O(1): el tablero mantiene la versión
+     * actual y cada bloqueo solo copia un camino corto del árbol persistente.
+     */
+    public BoardSnapshot snapshot() {
+        return current;
+    }
+    
+    /**
+     * Vuelve el tablero al estado de una foto tomada antes (deshacer, rehacer, análisis).
+     */
+    public void restore(BoardSnapshot snapshot) {
+        if (snapshot.getRadius() != size) {
+            throw new IllegalArgumentException("Snapshot of a board of size " + snapshot.getRadius()
+                    + " cannot be restored on a board of size " + size);
+        }
+        reloadBlockedPositions(snapshot);
+        blockedPositionsChanged();
+        current = snapshot;
+        if (borderDistance != null) {
+            borderDistance.rebuild(); // Restaurar puede liberar celdas: recálculo completo
+        }
+        journal.append(BoardJournal.RESTORED, snapshot.getBlockedCount());
+    }
 
+    /**
+     * Deja el tablero sin celdas bloqueadas, reutilizando su memoria (ver HexGameBoardPool).
+     * Es el comienzo de otra partida: el diario también vuelve a empezar.
+     */
+    public void clear() {
+        restore(BoardSnapshot.empty(topology));
+        journal.reset();
+    }
+    
+    /**
+     * Carga en blockedPositions las celdas de la foto (ver restore).
+     */
+    protected void reloadBlockedPositions(BoardSnapshot snapshot) {
+        clearBlockedPositions();
+        snapshot.forEachBlocked(index -> addBlockedPosition(topology.positionAt(index)));
+    }
+    
+    /**
+     * Evalúa la función sobre una capa con la posición bloqueada.
+     * La capa se crea desde la foto actual en O(1) y es propia de esta llamada:
+     * el tablero no se modifica, se puede llamar desde varios hilos a la vez y
+     * "deshacer" es simplemente descartar la capa.
+     */
+    @Override
+    public <R> R withTentativeMove(HexPosition position, Function<GameBoard<HexPosition>, R> evaluation) {
+        SnapshotHexGameBoard overlay = new SnapshotHexGameBoard(this);
+        overlay.makeMove(position);
+        return evaluation.apply(overlay);
+    }
+    
+    // Registrar una celda recién bloqueada en la versión persistente (y su hash)
+    protected final void onCellBlocked(int index) {
+        current = current.withBlocked(index);
     }
     
     @Override
@@ -71,66 +205,256 @@ public class HexGameBoard extends GameBoard<HexPosition> {
         // Retornar como List
         // 
         // Ejemplo de uso de streams:
-        return getAllPossiblePositions().stream()
-             .filter(condition)
+        return streamPositionsWhere(condition)
              .collect(Collectors.toList());
     }
     
+    /**
+     * Stream perezoso de las posiciones que cumplen la condición.
+     * Recorre los índices densos de la topología sin materializar el tablero,
+     * se detiene en cuanto una operación terminal lo permite (findFirst, anyMatch...)
+     * y puede usarse con .parallel().
+     */
+    @Override
+    public Stream<HexPosition> streamPositionsWhere(Predicate<HexPosition> condition) {
+        return streamPositions().filter(condition);
+    }
+    
+    /**
+     * Stream perezoso de todas las posiciones del tablero, en orden de índice.
+     */
+    public Stream<HexPosition> streamPositions() {
+        return StreamSupport.stream(new HexCellSpliterator(topology, 0, topology.getCellCount()), false);
+    }
+    
     @Override
     public List<HexPosition> getAdjacentPositions(HexPosition position) {
         // Obtener las 6 posiciones adyacentes en un tablero hexagonal
         // Direcciones hexagonales: (+1,0), (+1,-1), (0,-1), (-1,0), (-1,+1), (0,+1)
         // Filtrar las que estén dentro de los límites del tablero
         // 
-        // Pista: Crear array de direcciones y usar streams para mapear
-        // Direcciones hexagonales: las 6 direcciones posibles
-        HexPosition[] directions = {
-            new HexPosition(1, 0),   // Este
-            new HexPosition(1, -1),  // Noreste
-            new HexPosition(0, -1),  // Noroeste
-            new HexPosition(-1, 0),  // Oeste
-            new HexPosition(-1, 1),  // Suroeste
-            new HexPosition(0, 1)    // Sureste
-        };
-        
-        return Arrays.stream(directions)
-                .map(dir -> (HexPosition) position.add(dir))
-                .filter(this::isPositionInBounds) // Incluye posiciones del borde
-                .filter(pos -> !isBlocked(pos))   // Excluye posiciones bloqueadas
-                .collect(Collectors.toList());
+        // Los vecinos de cada celda del tablero ya están precalculados en la topología;
+        // solo queda descartar los bloqueados.
+        int index = topology.indexOf(position);
+        if (index < 0) {
+            return getAdjacentPositionsOutside(position);
+        }
+        List<HexPosition> adjacent = new ArrayList<>(6);
+        for (int k = topology.neighborStart(index), end = topology.neighborEnd(index); k < end; k++) {
+            int neighbor = topology.neighborAt(k);
+            if (!isBlocked(neighbor)) { // Incluye posiciones del borde
+                adjacent.add(topology.positionAt(neighbor));
+            }
+        }
+        return adjacent;
+    }
+    
+    @Override
+    public void forEachFreeNeighbor(HexPosition position, Consumer<HexPosition> action) {
+        int index = topology.indexOf(position);
+        if (index < 0) {
+            super.forEachFreeNeighbor(position, action);
+            return;
+        }
+        for (int k = topology.neighborStart(index), end = topology.neighborEnd(index); k < end; k++) {
+            int neighbor = topology.neighborAt(k);
+            if (!isBlocked(neighbor)) {
+                action.accept(topology.positionAt(neighbor));
+            }
+        }
+    }
+    
+    @Override
+    public void forEachFreeNeighbor(int index, IntConsumer action) {
+        for (int k = topology.neighborStart(index), end = topology.neighborEnd(index); k < end; k++) {
+            int neighbor = topology.neighborAt(k);
+            if (!isBlocked(neighbor)) {
+                action.accept(neighbor);
+            }
+        }
+    }
+    
+    @Override
+    public int countFreeNeighbors(HexPosition position) {
+        int index = topology.indexOf(position);
+        if (index < 0) {
+            return super.countFreeNeighbors(position);
+        }
+        int count = 0;
+        for (int k = topology.neighborStart(index), end = topology.neighborEnd(index); k < end; k++) {
+            if (!isBlocked(topology.neighborAt(k))) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    @Override
+    public HexPosition positionAt(int index) {
+        return topology.positionAt(index);
+    }
+    
+    // Caso poco común: la posición consultada está fuera del tablero
+    private List<HexPosition> getAdjacentPositionsOutside(HexPosition position) {
+        List<HexPosition> adjacent = new ArrayList<>(6);
+        for (int i = 0; i < 6; i++) {
+            HexPosition neighbor = position.neighbor(i);
+            if (isPositionInBounds(neighbor) && !isBlocked(neighbor)) {
+                adjacent.add(neighbor);
+            }
+        }
+        return adjacent;
     }
     
     @Override
     public boolean isBlocked(HexPosition position) {
         // Verificar si una posición está en el conjunto de bloqueadas
         // Método simple de consulta
-        return blockedPositions.contains(position);
+        return blockedPositions().contains(position);
+    }
+    
+    /**
+     * Verifica si la celda con el índice denso dado está bloqueada.
+     */
+    public boolean isBlocked(int index) {
+        return isBlocked(topology.positionAt(index));
+    }
+    
+    /**
+     * Verifica si una posición está en el borde por el que escapa el gato:
+     * el anillo size - 1 y el anillo exterior. Es probar un bit del borde precalculado.
+     * (ExampleGameBoard usa solo el anillo exterior: el gato debe dar un paso más.)
+     */
+    @Override
+    public boolean isAtBorder(HexPosition position) {
+        int index = topology.indexOf(position);
+        return index < 0 || border.contains(index); // Fuera del tablero también es haber escapado
+    }
+    
+    @Override
+    public boolean isAtBorder(int index) {
+        return border.contains(index);
+    }
+    
+    /**
+     * Celdas de borde de este tablero, como bitmask y lista ordenada.
+     */
+    public HexBorder getBorder() {
+        return border;
+    }
+    
+    /**
+     * Cantidad de pasos por celdas libres hasta el borde más cercano.
+     * Retorna UNREACHABLE si la posición está bloqueada, fuera del tablero o encerrada.
+     */
+    public int getDistanceToBorder(HexPosition position) {
+        int index = topology.indexOf(position);
+        return index < 0 ? UNREACHABLE : getDistanceToBorder(index);
     }
     
-    // Método auxiliar que los estudiantes pueden implementar
-    private List<HexPosition> getAllPossiblePositions() {
-        // Generar todas las posiciones válidas del tablero
-        // Usar doble loop para q y r, calcular s = -q - r
-        // Filtrar posiciones que estén dentro de los límites
-        List<HexPosition> positions = new ArrayList<>();
-        for (int q = -size + 1; q < size; q++) {
-            for (int r = -size + 1; r < size; r++) {
-                int s = -q - r; // Calcular s para mantener la relación q + r + s = 0
-                HexPosition pos = new HexPosition(q, r);
-                //La suma q + r + s debe ser 0, y todos dentro del rango
-                if (Math.abs(s) <= size) {
-                        positions.add(pos);
-                    }
-                }
+    /**
+     * Variante por índice denso de getDistanceToBorder.
+     */
+    public int getDistanceToBorder(int index) {
+        return borderDistance().distance(index);
+    }
+    
+    /**
+     * Verifica si desde la posición todavía existe un camino libre hasta el borde.
+     * El campo de distancias se mantiene al bloquear cada celda, así que la consulta es O(1).
+     */
+    public boolean hasEscapeRoute(HexPosition position) {
+        return getDistanceToBorder(position) != UNREACHABLE;
+    }
+    
+    /**
+     * Variante por índice denso de hasEscapeRoute.
+     */
+    public boolean hasEscapeRoute(int index) {
+        return getDistanceToBorder(index) != UNREACHABLE;
+    }
+    
+    /**
+     * Vecino libre que más acerca al borde, o vacío si el borde no es alcanzable.
+     */
+    public Optional<HexPosition> getNextStepToBorder(HexPosition position) {
+        int index = topology.indexOf(position);
+        if (index < 0) {
+            return Optional.empty();
         }
-        throw new UnsupportedOperationException("Método auxiliar para implementar");
+        int next = nextStepToBorder(index);
+        return next < 0 ? Optional.empty() : Optional.of(topology.positionAt(next));
+    }
+    
+    /**
+     * Celda del borde a la que lleva el camino más corto desde la posición dada.
+     * Sigue el gradiente del campo de distancias: O(distancia), sin búsqueda.
+     */
+    public Optional<HexPosition> getNearestReachableBorder(HexPosition position) {
+        int index = topology.indexOf(position);
+        if (index < 0 || getDistanceToBorder(index) == UNREACHABLE) {
+            return Optional.empty();
+        }
+        while (getDistanceToBorder(index) > 0) {
+            index = nextStepToBorder(index);
+        }
+        return Optional.of(topology.positionAt(index));
+    }
+    
+    // Vecino con menor distancia al borde, o -1 si ninguno llega
+    private int nextStepToBorder(int index) {
+        BorderDistanceField field = borderDistance();
+        int best = -1;
+        int bestDistance = UNREACHABLE;
+        for (int k = topology.neighborStart(index), end = topology.neighborEnd(index); k < end; k++) {
+            int neighbor = topology.neighborAt(k);
+            if (field.distance(neighbor) < bestDistance) {
+                bestDistance = field.distance(neighbor);
+                best = neighbor;
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Arreglo de enteros por celda para las estructuras derivadas (campo de distancias).
+     * Por defecto vive en el heap; un tablero enorme puede darlo fuera del heap.
+     */
+    protected IntBuffer allocateCellInts(int count) {
+        return IntBuffer.wrap(new int[count]);
+    }
+    
+    /**
+     * Variante de allocateCellInts para marcas de un byte por celda.
+     */
+    protected ByteBuffer allocateCellBytes(int count) {
+        return ByteBuffer.wrap(new byte[count]);
+    }
+    
+    private BorderDistanceField borderDistance() {
+        if (borderDistance == null) {
+            borderDistance = new BorderDistanceField(this);
+        }
+        return borderDistance;
+    }
+    
+    /**
+     * Topología compartida de este tamaño de tablero.
+     */
+    public HexTopology getTopology() {
+        return topology;
     }
     
     // Hook method override - ejemplo de extensibilidad
     @Override
     protected void onMoveExecuted(HexPosition position) {
-        //TODO Los estudiantes pueden agregar lógica adicional aquí
-        // Ejemplos: logging, notificaciones, validaciones post-movimiento
+        // Reparar solo la región del campo de distancias que dependía de esta celda
+        int index = topology.indexOf(position);
+        if (borderDistance != null) {
+            borderDistance.onBlocked(index);
+        }
+        // Registrar el cambio; el número de jugada es la cantidad de celdas bloqueadas
+        journal.append(index, current.getBlockedCount());
         super.onMoveExecuted(position);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.atraparalagato.impl.model;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reserva de tableros para reutilizar entre partidas.
+ *
+ * Cuando se inician muchas partidas a la vez (por ejemplo, un curso completo), crear
+ * un tablero por partida reserva de nuevo el conjunto de bits, el campo de distancias
+ * y el diario. La reserva guarda los tableros que ya no se usan, agrupados por tamaño,
+ * y los entrega vacíos a la siguiente partida del mismo tamaño.
+ *
+ * Solo acepta BitSetHexGameBoard exactos: los tableros fuera del heap o las capas de
+ * fotos tienen su propio ciclo de vida. Un tablero devuelto no se debe volver a usar.
+ *
+ * Conceptos implementados:
+ * - Object Pool: reutilización de objetos costosos de crear
+ * - Concurrencia: acceso sincronizado desde varios hilos
+ */
+public final class HexGameBoardPool {
+
+    /**
+     * Tableros guardados como máximo por cada tamaño.
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private static final HexGameBoardPool SHARED = new HexGameBoardPool(DEFAULT_CAPACITY);
+
+    private final int capacityPerSize;
+    private final Map<Integer, Deque<HexGameBoard>> idle = new HashMap<>();
+
+    public HexGameBoardPool(int capacityPerSize) {
+        if (capacityPerSize < 0) {
+            throw new IllegalArgumentException("Capacity must be non-negative: " + capacityPerSize);
+        }
+        this.capacityPerSize = capacityPerSize;
+    }
+
+    /**
+     * Reserva compartida por todas las partidas del proceso.
+     */
+    public static HexGameBoardPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Entrega un tablero vacío del tamaño dado, reutilizado si hay alguno guardado.
+     */
+    public HexGameBoard acquire(int size) {
+        HexGameBoard board;
+        synchronized (this) {
+            Deque<HexGameBoard> boards = idle.get(size);
+            board = boards == null ? null : boards.pollFirst();
+        }
+        if (board == null) {
+            return new BitSetHexGameBoard(size);
+        }
+        board.clear();
+        return board;
+    }
+
+    /**
+     * Devuelve un tablero que ya no se usa. Retorna false si no se guardó
+     * (tipo no reutilizable o reserva llena); en ese caso lo recoge el GC.
+     */
+    public boolean release(HexGameBoard board) {
+        if (board == null || board.getClass() != BitSetHexGameBoard.class) {
+            return false;
+        }
+        synchronized (this) {
+            Deque<HexGameBoard> boards = idle.computeIfAbsent(board.getSize(), size -> new ArrayDeque<>());
+            if (boards.size() >= capacityPerSize) {
+                return false;
+            }
+            boards.addFirst(board); // LIFO: el último devuelto es el que sigue en caché
+            return true;
+        }
+    }
+
+    /**
+     * Tableros guardados de un tamaño.
+     */
+    public synchronized int getIdleCount(int size) {
+        Deque<HexGameBoard> boards = idle.get(size);
+        return boards == null ? 0 : boards.size();
+    }
+}
@@ -3,8 +3,12 @@ package com.atraparalagato.impl.model;
 import com.atraparalagato.base.model.GameState;
 
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Implementación esqueleto de GameState para tableros hexagonales.
@@ -25,20 +29,47 @@ public class HexGameState extends GameState<HexPosition> {
     private final int boardSize;
     public Boolean paused = false;
     
+    // Clave Zobrist de la posición actual del gato
+    private long catZobrist;
+    
+    // Historial para deshacer/rehacer; las fotos del tablero comparten estructura entre sí
+    private final Deque<Checkpoint> undoHistory = new ArrayDeque<>();
+    private final Deque<Checkpoint> redoHistory = new ArrayDeque<>();
+    
+    // Se avisa cuando se suelta la partida (ver release)
+    private Consumer<HexGameState> onReleased;
+    
+    // Usos en curso del tablero (retain/unretain), si la partida ya se soltó y si el
+    // estado se entregó a código que no avisa cuando termina de usarlo (ver share)
+    private int holds;
+    private boolean released;
+    private boolean shared;
+    
+    // Dificultad de la partida; el servicio elige con ella la estrategia del gato
+    private String difficulty = "normal";
+    
     // Los estudiantes pueden agregar más campos según necesiten
     // Ejemplos: tiempo de juego, dificultad, power-ups, etc.
     
     public HexGameState(String gameId, int boardSize) {
-        super(gameId);
-        this.boardSize = boardSize;
-
         //Inicializar el tablero y posición inicial del gato
-        this.gameBoard = new HexGameBoard(boardSize);
-        this.catPosition = new HexPosition( 0, 0); //Gato empieza en el centro
+        // Tablero propio, no de la reserva: así los estados que se arman solo para leer
+        // (por ejemplo, al recorrer el repositorio) no se llevan tableros de ella
+        this(gameId, new BitSetHexGameBoard(boardSize));
         // Pista: Usar HexGameBoard y posicionar el gato en el centro
         //throw new UnsupportedOperationException("Los estudiantes deben implementar el constructor");
     }
     
+    /**
+     * Partida sobre un tablero ya creado, por ejemplo un HugeHexGameBoard.
+     */
+    public HexGameState(String gameId, HexGameBoard gameBoard) {
+        super(gameId);
+        this.boardSize = gameBoard.getSize();
+        this.gameBoard = gameBoard;
+        placeCat(HexPosition.of(0, 0)); //Gato empieza en el centro
+    }
+    
     @Override
     protected boolean canExecuteMove(HexPosition position) {
         // Implementar validación de movimientos más sofisticada
@@ -51,6 +82,11 @@ public class HexGameState extends GameState<HexPosition> {
 
     }
     
+    @Override
+    protected void beforeMoveExecution(HexPosition position) {
+        saveCheckpoint();
+    }
+    
     @Override
     protected boolean performMove(HexPosition position) {
         // Ejecutar el movimiento en el tablero
@@ -86,7 +122,7 @@ public class HexGameState extends GameState<HexPosition> {
     public void setCatPosition(HexPosition position) {
         // IMPORTANTE: Debe llamar a updateGameStatus() después de mover el gato
         // para verificar si el juego terminó
-        this.catPosition = position;
+        placeCat(position);
         updateGameStatus();
 
     }
@@ -132,6 +168,7 @@ public class HexGameState extends GameState<HexPosition> {
         state.put("status", getStatus().toString());
         state.put("moveCount", getMoveCount());
         state.put("boardSize", boardSize);
+        state.put("difficulty", difficulty);
         return state;
     }
     
@@ -148,7 +185,22 @@ public class HexGameState extends GameState<HexPosition> {
             @SuppressWarnings("unchecked")
             Map<String, Integer> catPos = (Map<String, Integer>) state.get("catPosition");
             if (catPos != null) {
-                this.catPosition = new HexPosition(catPos.get("q"), catPos.get("r"));
+                placeCat(HexPosition.of(catPos.get("q"), catPos.get("r")));
+            }
+            
+            // Restaurar celdas bloqueadas y contador de movimientos
+            if (state.get("blockedCells") instanceof Collection<?> blockedCells) {
+                for (Object cell : blockedCells) {
+                    if (cell instanceof HexPosition position) {
+                        gameBoard.makeMove(position);
+                    }
+                }
+            }
+            if (state.get("moveCount") instanceof Number count) {
+                this.moveCount = count.intValue();
+            }
+            if (state.get("difficulty") instanceof String savedDifficulty) {
+                this.difficulty = savedDifficulty;
             }
             
             // Restaurar estado del juego
@@ -166,18 +218,176 @@ public class HexGameState extends GameState<HexPosition> {
      * Los estudiantes deben definir qué constituye "el borde".
      */
     private boolean isCatAtBorder() {
-        return Math.abs(catPosition.getQ()) == boardSize -1 || 
-               Math.abs(catPosition.getR()) == boardSize-1 || 
-               Math.abs(catPosition.getS()) == boardSize-1;
+        // El tablero define el borde (anillo boardSize - 1 hacia afuera) con un bitmask precalculado
+        return gameBoard.isAtBorder(catPosition);
     }
     
     /**
      * Verificar si el gato está completamente atrapado.
-     * Debe verificar si todas las posiciones adyacentes están bloqueadas.
+     * Está atrapado cuando ya no le queda ningún camino libre al borde, aunque todavía
+     * tenga vecinos libres: el campo de distancias del tablero lo responde en O(1).
      */
     private boolean isCatTrapped() {
-        return gameBoard.getAdjacentPositions(catPosition).stream()
-                .allMatch(gameBoard::isBlocked);
+        return !gameBoard.hasEscapeRoute(catPosition);
+    }
+    
+    /**
+     * Verificar si el gato todavía tiene un camino libre hasta el borde.
+     * El tablero mantiene la conectividad al bloquear cada celda: consulta O(1).
+     */
+    public boolean canCatEscape() {
+        return gameBoard.hasEscapeRoute(catPosition);
+    }
+    
+    /**
+     * Hash Zobrist del estado: celdas bloqueadas más posición del gato.
+     * Se mantiene en O(1) por movimiento; dos estados iguales tienen el mismo hash.
+     */
+    public long getZobristHash() {
+        return gameBoard.getZobristHash() ^ catZobrist;
+    }
+    
+    /**
+     * Guardar el estado actual en el historial antes de un movimiento.
+     * Cuesta O(1): la foto del tablero ya está construida. Borra lo que se podía rehacer.
+     */
+    public void saveCheckpoint() {
+        undoHistory.push(checkpoint());
+        redoHistory.clear();
+    }
+    
+    /**
+     * Volver al último estado guardado. Retorna false si no hay nada que deshacer.
+     */
+    public boolean undo() {
+        if (undoHistory.isEmpty()) {
+            return false;
+        }
+        redoHistory.push(checkpoint());
+        apply(undoHistory.pop());
+        return true;
+    }
+    
+    /**
+     * Rehacer el último movimiento deshecho. Retorna false si no hay nada que rehacer.
+     */
+    public boolean redo() {
+        if (redoHistory.isEmpty()) {
+            return false;
+        }
+        undoHistory.push(checkpoint());
+        apply(redoHistory.pop());
+        return true;
+    }
+    
+    public boolean canUndo() {
+        return !undoHistory.isEmpty();
+    }
+    
+    public boolean canRedo() {
+        return !redoHistory.isEmpty();
+    }
+    
+    /**
+     * Marca un uso del tablero, que termina con unretain(). Mientras dure, release() no
+     * devuelve el tablero a la reserva. Retorna false si la partida ya se soltó: en ese
+     * caso hay que volver a buscarla.
+     */
+    public synchronized boolean retain() {
+        if (released) {
+            return false;
+        }
+        holds++;
+        return true;
+    }
+    
+    /**
+     * Termina un uso marcado con retain(). Si la partida se soltó y era el último uso,
+     * el tablero vuelve a la reserva.
+     */
+    public void unretain() {
+        boolean recycle;
+        synchronized (this) {
+            recycle = --holds == 0 && released;
+        }
+        if (recycle) {
+            recycleBoard();
+        }
+    }
+    
+    /**
+     * El estado queda en manos de código que no avisa cuando termina de usarlo: su
+     * tablero ya no vuelve a la reserva (lo recoge el GC).
+     */
+    public synchronized void share() {
+        shared = true;
+    }
+    
+    /**
+     * Suelta la partida porque terminó o expiró (el servicio lo hace). El tablero vuelve
+     * a la reserva cuando termina el último uso marcado con retain(), nunca antes, así
+     * que quien lo esté leyendo no ve un tablero reutilizado por otra partida.
+     */
+    public void release() {
+        boolean recycle;
+        synchronized (this) {
+            if (released) {
+                return;
+            }
+            released = true;
+            recycle = holds == 0;
+        }
+        if (onReleased != null) {
+            onReleased.accept(this);
+        }
+        if (recycle) {
+            recycleBoard();
+        }
+    }
+    
+    public synchronized boolean isReleased() {
+        return released;
+    }
+    
+    // Devuelve el tablero a la reserva; después el estado no se debe volver a usar
+    private void recycleBoard() {
+        HexGameBoard board;
+        synchronized (this) {
+            if (shared || gameBoard == null) {
+                return;
+            }
+            board = gameBoard;
+            gameBoard = null;
+            undoHistory.clear();
+            redoHistory.clear();
+        }
+        HexGameBoardPool.shared().release(board);
+    }
+    
+    /**
+     * Callback para cuando se suelta la partida, por ejemplo para que el servicio deje
+     * de considerarla viva.
+     */
+    public void setOnReleased(Consumer<HexGameState> callback) {
+        this.onReleased = callback;
+    }
+    
+    private Checkpoint checkpoint() {
+        return new Checkpoint(gameBoard.snapshot(), catPosition, getMoveCount(), getStatus());
+    }
+    
+    private void apply(Checkpoint checkpoint) {
+        gameBoard.restore(checkpoint.board);
+        placeCat(checkpoint.catPosition);
+        this.moveCount = checkpoint.moveCount;
+        setStatus(checkpoint.status);
+    }
+    
+    private void placeCat(HexPosition position) {
+        int index = gameBoard.getTopology().indexOf(position);
+        this.catPosition = position;
+        this.catZobrist = index < 0 ? 0L : gameBoard.getTopology().catKey(index);
+        gameBoard.getJournal().recordCatPosition(index < 0 ? BoardJournal.UNKNOWN_CAT : index);
     }
     
     /**
@@ -206,7 +416,8 @@ public class HexGameState extends GameState<HexPosition> {
             "score", calculateScore(),
             "moveCount", getMoveCount(),
             "eficiencia", eficiencia,
-            "estrategia", estrategia
+            "estrategia", estrategia,
+            "gatoPuedeEscapar", canCatEscape()
         );
     }
     
@@ -220,6 +431,14 @@ public class HexGameState extends GameState<HexPosition> {
         return boardSize;
     }
     
+    public String getDifficulty() {
+        return difficulty;
+    }
+    
+    public void setDifficulty(String difficulty) {
+        this.difficulty = difficulty;
+    }
+    
     // 2Los estudiantes pueden agregar más métodos según necesiten
     // Ejemplos: getDifficulty(), getTimeElapsed(), getPowerUps(), etc.
 
@@ -228,4 +447,21 @@ public class HexGameState extends GameState<HexPosition> {
         // Puede usar createdAt y LocalDateTime.now()
         return (int) java.time.Duration.between(createdAt, LocalDateTime.now()).getSeconds();
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Estado guardado para deshacer/rehacer.
+     */
+    private static final class Checkpoint {
+        private final BoardSnapshot board;
+        private final HexPosition catPosition;
+        private final int moveCount;
+        private final GameStatus status;
+        
+        private Checkpoint(BoardSnapshot board, HexPosition catPosition, int moveCount, GameStatus status) {
+            this.board = board;
+            this.catPosition = catPosition;
+            this.moveCount = moveCount;
+            this.status = status;
+        }
+    }
+}
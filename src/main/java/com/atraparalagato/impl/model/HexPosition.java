@@ -15,6 +15,37 @@ import com.atraparalagato.base.model.Position;
  */
 public class HexPosition extends Position {
     
+    /**
+     * Radio cubierto por la tabla de instancias canónicas.
+     * El tablero más grande configurado es de tamaño 11; se agrega un anillo extra
+     * para que los vecinos generados desde el borde también salgan de la tabla.
+     */
+    public static final int INTERN_RADIUS = 12;
+    
+    private static final int INTERN_WIDTH = 2 * INTERN_RADIUS + 1;
+    private static final HexPosition[] INTERNED = new HexPosition[INTERN_WIDTH * INTERN_WIDTH];
+    
+    static {
+        for (int q = -INTERN_RADIUS; q <= INTERN_RADIUS; q++) {
+            for (int r = -INTERN_RADIUS; r <= INTERN_RADIUS; r++) {
+                INTERNED[(q + INTERN_RADIUS) * INTERN_WIDTH + (r + INTERN_RADIUS)] = new HexPosition(q, r);
+            }
+        }
+    }
+    
+    /**
+     * Las 6 direcciones hexagonales, en el mismo orden que usan los tableros:
+     * Este, Noreste, Noroeste, Oeste, Suroeste, Sureste.
+     */
+    private static final HexPosition[] DIRECTIONS = {
+        of(1, 0),
+        of(1, -1),
+        of(0, -1),
+        of(-1, 0),
+        of(-1, 1),
+        of(0, 1)
+    };
+    
     private final int q; // Coordenada axial q
     private final int r; // Coordenada axial r
     
@@ -23,6 +54,36 @@ public class HexPosition extends Position {
         this.r = r;
     }
     
+    /**
+     * Obtiene la instancia canónica para (q, r).
+     * Dentro de INTERN_RADIUS no se crea ningún objeto nuevo, así que dos posiciones
+     * obtenidas con este método son iguales si y solo si son la misma referencia.
+     * Fuera de la tabla se crea una posición nueva como con el constructor.
+     */
+    public static HexPosition of(int q, int r) {
+        int row = q + INTERN_RADIUS;
+        int col = r + INTERN_RADIUS;
+        if (row >= 0 && row < INTERN_WIDTH && col >= 0 && col < INTERN_WIDTH) {
+            return INTERNED[row * INTERN_WIDTH + col];
+        }
+        return new HexPosition(q, r);
+    }
+    
+    /**
+     * Obtiene la dirección hexagonal número i (0..5).
+     */
+    public static HexPosition direction(int i) {
+        return DIRECTIONS[i];
+    }
+    
+    /**
+     * Obtiene la posición vecina en la dirección i (0..5) sin pasar por add().
+     */
+    public HexPosition neighbor(int i) {
+        HexPosition dir = DIRECTIONS[i];
+        return of(q + dir.q, r + dir.r);
+    }
+    
     public int getQ() {
         return q;
     }
@@ -35,14 +96,27 @@ public class HexPosition extends Position {
         return -q - r; // Tercera coordenada axial
     }
     
+    /**
+     * Distancia del centro (0, 0) a esta posición, es decir, el anillo en que se encuentra.
+     */
+    public int getRing() {
+        return Math.max(Math.abs(q), Math.max(Math.abs(r), Math.abs(getS())));
+    }
+    
     @Override
     public double distanceTo(Position other) {
         if (!(other instanceof HexPosition)) {
             throw new IllegalArgumentException("Cannot calculate distance to non-hex position");
         }
         
-        HexPosition hex = (HexPosition) other;
-        return (Math.abs(q - hex.q) + Math.abs(q + r - hex.q - hex.r) + Math.abs(r - hex.r)) / 2.0;
+        return hexDistanceTo((HexPosition) other);
+    }
+    
+    /**
+     * Distancia hexagonal entera, sin pasar por double.
+     */
+    public int hexDistanceTo(HexPosition other) {
+        return hexDistance(q, r, other.q, other.r);
     }
     
     @Override
@@ -52,7 +126,7 @@ public class HexPosition extends Position {
         }
         
         HexPosition hex = (HexPosition) other;
-        return new HexPosition(q + hex.q, r + hex.r);
+        return of(q + hex.q, r + hex.r);
     }
     
     @Override
@@ -62,12 +136,16 @@ public class HexPosition extends Position {
         }
         
         HexPosition hex = (HexPosition) other;
-        return new HexPosition(q - hex.q, r - hex.r);
+        return of(q - hex.q, r - hex.r);
     }
     
     @Override
     public boolean isAdjacentTo(Position other) {
-        return distanceTo(other) == 1.0;
+        if (!(other instanceof HexPosition)) {
+            throw new IllegalArgumentException("Cannot calculate distance to non-hex position");
+        }
+        
+        return hexDistanceTo((HexPosition) other) == 1;
     }
     
     @Override
@@ -75,6 +153,116 @@ public class HexPosition extends Position {
         return Math.abs(q) <= maxSize && Math.abs(r) <= maxSize && Math.abs(getS()) <= maxSize;
     }
     
+    @Override
+    public int toIndex(int radius) {
+        return toIndex(q, r, radius);
+    }
+    
+    // Codificación densa por índice
+    //
+    // Las celdas de un tablero de radio R se numeran fila por fila (q de -R a R, y dentro
+    // de cada fila r de menor a mayor). El tablero tiene 3R(R+1)+1 celdas.
+    
+    /**
+     * Cantidad de celdas de un tablero hexagonal de radio dado.
+     */
+    public static int cellCount(int radius) {
+        return 3 * radius * (radius + 1) + 1;
+    }
+    
+    /**
+     * Índice denso de (q, r) en un tablero de radio dado, o -1 si está fuera.
+     */
+    public static int toIndex(int q, int r, int radius) {
+        if (Math.abs(q) > radius || Math.abs(r) > radius || Math.abs(q + r) > radius) {
+            return -1;
+        }
+        return rowStart(q, radius) + r - minR(q, radius);
+    }
+    
+    /**
+     * Posición canónica correspondiente a un índice denso.
+     */
+    public static HexPosition fromIndex(int index, int radius) {
+        int q = qOfIndex(index, radius);
+        return of(q, index - rowStart(q, radius) + minR(q, radius));
+    }
+    
+    /**
+     * Coordenada q de un índice denso, sin crear la posición.
+     */
+    public static int qOfIndex(int index, int radius) {
+        if (index < 0 || index >= cellCount(radius)) {
+            throw new IllegalArgumentException("Index " + index + " out of range for radius " + radius);
+        }
+        // Búsqueda binaria de la última fila cuyo inicio es <= index
+        int low = -radius;
+        int high = radius;
+        while (low < high) {
+            int mid = (low + high + 1) >> 1;
+            if (rowStart(mid, radius) <= index) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+    
+    /**
+     * Coordenada r de un índice denso, sin crear la posición.
+     */
+    public static int rOfIndex(int index, int radius) {
+        int q = qOfIndex(index, radius);
+        return index - rowStart(q, radius) + minR(q, radius);
+    }
+    
+    /**
+     * Anillo (distancia al centro) de un índice denso, sin crear la posición.
+     */
+    public static int ringOf(int index, int radius) {
+        int q = qOfIndex(index, radius);
+        int r = index - rowStart(q, radius) + minR(q, radius);
+        return Math.max(Math.abs(q), Math.max(Math.abs(r), Math.abs(q + r)));
+    }
+    
+    /**
+     * Distancia hexagonal entre dos índices densos del mismo tablero.
+     */
+    public static int hexDistance(int a, int b, int radius) {
+        int qa = qOfIndex(a, radius);
+        int qb = qOfIndex(b, radius);
+        int ra = a - rowStart(qa, radius) + minR(qa, radius);
+        int rb = b - rowStart(qb, radius) + minR(qb, radius);
+        return hexDistance(qa, ra, qb, rb);
+    }
+    
+    /**
+     * Verifica si dos índices densos del mismo tablero son vecinos.
+     */
+    public static boolean isAdjacent(int a, int b, int radius) {
+        return hexDistance(a, b, radius) == 1;
+    }
+    
+    private static int hexDistance(int q1, int r1, int q2, int r2) {
+        int dq = q1 - q2;
+        int dr = r1 - r2;
+        return (Math.abs(dq) + Math.abs(dq + dr) + Math.abs(dr)) / 2;
+    }
+    
+    private static int rowStart(int q, int radius) {
+        int j = q + radius;
+        if (q <= 0) {
+            return j * (radius + 1) + j * (j - 1) / 2;
+        }
+        int center = radius * (radius + 1) + radius * (radius - 1) / 2;
+        return center + q * (2 * radius + 1) - q * (q - 1) / 2;
+    }
+    
+    private static int minR(int q, int radius) {
+        return q <= 0 ? -q - radius : -radius;
+    }
+    
     @Override
     public int hashCode() {
         return 31 * q + r;
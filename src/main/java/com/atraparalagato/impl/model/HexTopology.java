@@ -0,0 +1,149 @@
+package com.atraparalagato.impl.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Topología de un tablero hexagonal de radio dado.
+ *
+ * Para cada índice denso de celda da su posición canónica y sus vecinos dentro del
+ * tablero en formato comprimido (CSR): los vecinos de la celda i son
+ * neighborAt(neighborStart(i)) .. neighborAt(neighborEnd(i) - 1).
+ * Además da una máscara de 6 bits por celda con las direcciones que quedan dentro
+ * del tablero.
+ *
+ * También da las claves Zobrist del tablero: un número aleatorio de 64 bits por
+ * celda bloqueada y otro por posición del gato. Se generan con una semilla fija, así
+ * que el hash de un estado es el mismo en todas las partidas y ejecuciones.
+ *
+ * Las celdas de borde a partir de cada anillo (border) se calculan una vez y se
+ * comparten igual que la topología.
+ *
+ * Hay dos implementaciones: la compacta, en arreglos del heap y compartida entre
+ * todos los tableros del mismo tamaño (forRadius), y la mapeada fuera del heap para
+ * tableros enormes (mapped).
+ *
+ * Conceptos implementados:
+ * - Flyweight: una sola instancia por tamaño de tablero
+ * - OOP: misma interfaz para distintas formas de guardar los datos
+ */
+public abstract class HexTopology {
+
+    private static final Map<Integer, HexTopology> CACHE = new ConcurrentHashMap<>();
+    static final long ZOBRIST_SEED = 0x5DEECE66DL;
+
+    private final int radius;
+    private final Map<Integer, HexBorder> borders = new ConcurrentHashMap<>();
+
+    protected HexTopology(int radius) {
+        if (radius < 0) {
+            throw new IllegalArgumentException("Radius must be non-negative: " + radius);
+        }
+        this.radius = radius;
+    }
+
+    /**
+     * Obtiene la topología compartida para un tablero de radio dado.
+     */
+    public static HexTopology forRadius(int radius) {
+        if (radius < 0) {
+            throw new IllegalArgumentException("Radius must be non-negative: " + radius);
+        }
+        return CACHE.computeIfAbsent(radius, CompactHexTopology::new);
+    }
+
+    /**
+     * Indica si la caché compartida ya tiene la topología del radio dado.
+     */
+    static boolean isShared(int radius) {
+        return CACHE.containsKey(radius);
+    }
+
+    /**
+     * Crea una topología guardada en memoria mapeada, fuera del heap.
+     * Pensada para tableros enormes; no se comparte, vive mientras alguien la use.
+     */
+    public static HexTopology mapped(int radius) {
+        return new MappedHexTopology(radius);
+    }
+
+    public final int getRadius() {
+        return radius;
+    }
+
+    /**
+     * Índice denso de una posición, o -1 si está fuera del tablero.
+     */
+    public final int indexOf(HexPosition position) {
+        return position.toIndex(radius);
+    }
+
+    public abstract int getCellCount();
+
+    /**
+     * Celdas de anillo mayor o igual a minRing, precalculadas la primera vez que se piden.
+     */
+    public final HexBorder border(int minRing) {
+        return borders.computeIfAbsent(Math.max(0, minRing), ring -> new HexBorder(this, ring));
+    }
+
+    /**
+     * Posición canónica de una celda.
+     */
+    public abstract HexPosition positionAt(int index);
+
+    /**
+     * Anillo de la celda (distancia al centro), sin crear la posición.
+     */
+    public abstract int ringOf(int index);
+
+    /**
+     * Coordenada q de la celda, sin crear la posición.
+     */
+    public abstract int qOf(int index);
+
+    /**
+     * Coordenada r de la celda, sin crear la posición.
+     */
+    public abstract int rOf(int index);
+
+    /**
+     * Distancia hexagonal entre dos celdas, para heurísticas que se evalúan por cada
+     * celda visitada: lee las coordenadas de la topología en lugar de calcularlas.
+     */
+    public final int distance(int a, int b) {
+        int dq = qOf(a) - qOf(b);
+        int dr = rOf(a) - rOf(b);
+        return (Math.abs(dq) + Math.abs(dq + dr) + Math.abs(dr)) / 2;
+    }
+
+    /**
+     * Inicio (inclusive) de los vecinos de la celda en neighborAt.
+     */
+    public abstract int neighborStart(int index);
+
+    /**
+     * Fin (exclusive) de los vecinos de la celda en neighborAt.
+     */
+    public abstract int neighborEnd(int index);
+
+    /**
+     * Vecino número k del arreglo comprimido (ver neighborStart/neighborEnd).
+     */
+    public abstract int neighborAt(int k);
+
+    /**
+     * Máscara de direcciones (bit d = dirección d de HexPosition) que quedan dentro del tablero.
+     */
+    public abstract int directionMask(int index);
+
+    /**
+     * Clave Zobrist de la celda cuando está bloqueada.
+     */
+    public abstract long blockedKey(int index);
+
+    /**
+     * Clave Zobrist del gato parado en la celda.
+     */
+    public abstract long catKey(int index);
+}
@@ -0,0 +1,46 @@
+package com.atraparalagato.impl.model;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Set;
+
+/**
+ * Tablero hexagonal para tamaños muy grandes (radios de miles, millones de celdas).
+ *
+ * Se comporta igual que BitSetHexGameBoard, pero todo lo que crece con la cantidad de
+ * celdas vive fuera del heap, en memoria mapeada: la topología, el mapa de bits de
+ * celdas bloqueadas y el campo de distancias al borde. Así un tablero enorme no llena
+ * el heap ni alarga las pausas del GC. HexGameState y las estrategias lo usan igual
+ * que a cualquier HexGameBoard.
+ *
+ * Las capas de withTentativeMove usan la misma topología mapeada y piden su memoria
+ * a este tablero, y las fotos (snapshot) solo crean nodos para las palabras del mapa
+ * de bits que tienen celdas bloqueadas: ninguna de las dos crece con el tablero.
+ *
+ * El radio máximo lo limita el tamaño de un mapeo (2 GB para los vecinos): unos 5400.
+ *
+ * Conceptos implementados:
+ * - OOP: Sustituye a HexGameBoard sin cambiar el contrato de GameBoard
+ * - Gestión de memoria: almacenamiento fuera del heap con MappedByteBuffer
+ */
+public class HugeHexGameBoard extends BitSetHexGameBoard {
+
+    public HugeHexGameBoard(int size) {
+        super(size, HexTopology.mapped(size));
+    }
+
+    @Override
+    protected Set<HexPosition> initializeBlockedPositions() {
+        return new BlockedCellSet(size, OffHeapBuffers.longs(BlockedCellSet.wordCount(size)));
+    }
+
+    @Override
+    protected IntBuffer allocateCellInts(int count) {
+        return OffHeapBuffers.ints(count);
+    }
+
+    @Override
+    protected ByteBuffer allocateCellBytes(int count) {
+        return OffHeapBuffers.bytes(count);
+    }
+}
@@ -0,0 +1,124 @@
+package com.atraparalagato.impl.model;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Topología de tableros enormes, guardada fuera del heap.
+ *
+ * Los vecinos (CSR) y las máscaras de dirección viven en memoria mapeada; las
+ * posiciones, los anillos y las claves Zobrist se calculan a partir del índice en
+ * lugar de guardarse. Un tablero de radio 3000 (27 millones de celdas) ocupa unos
+ * 800 MB mapeados y casi nada de heap.
+ *
+ * Conceptos implementados:
+ * - Gestión de memoria: datos por celda fuera del heap
+ * - OOP: misma interfaz que la topología compacta
+ */
+final class MappedHexTopology extends HexTopology {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final int cellCount;
+    private final IntBuffer neighborStart;
+    private final IntBuffer neighbors;
+    private final ByteBuffer directionMask;
+    private final long keySeed;
+
+    MappedHexTopology(int radius) {
+        super(radius);
+        long cells = 3L * radius * (radius + 1) + 1;
+        if (cells * 6 * Integer.BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Board radius too large for mapped topology: " + radius);
+        }
+        this.cellCount = (int) cells;
+        this.neighborStart = OffHeapBuffers.ints(cells + 1);
+        this.neighbors = OffHeapBuffers.ints(cells * 6);
+        this.directionMask = OffHeapBuffers.bytes(cells);
+        this.keySeed = ZOBRIST_SEED * 31 + radius;
+
+        // Recorrer las celdas fila por fila (mismo orden que los índices densos)
+        int index = 0;
+        int edges = 0;
+        for (int q = -radius; q <= radius; q++) {
+            int minR = Math.max(-radius, -q - radius);
+            int maxR = Math.min(radius, -q + radius);
+            for (int r = minR; r <= maxR; r++, index++) {
+                neighborStart.put(index, edges);
+                int mask = 0;
+                for (int d = 0; d < 6; d++) {
+                    HexPosition dir = HexPosition.direction(d);
+                    int neighbor = HexPosition.toIndex(q + dir.getQ(), r + dir.getR(), radius);
+                    if (neighbor >= 0) {
+                        neighbors.put(edges++, neighbor);
+                        mask |= 1 << d;
+                    }
+                }
+                directionMask.put(index, (byte) mask);
+            }
+        }
+        neighborStart.put(cellCount, edges);
+    }
+
+    @Override
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    @Override
+    public HexPosition positionAt(int index) {
+        return HexPosition.fromIndex(index, getRadius());
+    }
+
+    @Override
+    public int ringOf(int index) {
+        return HexPosition.ringOf(index, getRadius());
+    }
+
+    @Override
+    public int qOf(int index) {
+        return HexPosition.qOfIndex(index, getRadius());
+    }
+
+    @Override
+    public int rOf(int index) {
+        return HexPosition.rOfIndex(index, getRadius());
+    }
+
+    @Override
+    public int neighborStart(int index) {
+        return neighborStart.get(index);
+    }
+
+    @Override
+    public int neighborEnd(int index) {
+        return neighborStart.get(index + 1);
+    }
+
+    @Override
+    public int neighborAt(int k) {
+        return neighbors.get(k);
+    }
+
+    @Override
+    public int directionMask(int index) {
+        return directionMask.get(index);
+    }
+
+    @Override
+    public long blockedKey(int index) {
+        return mix(keySeed + GOLDEN_GAMMA * (2L * index + 1));
+    }
+
+    @Override
+    public long catKey(int index) {
+        return mix(keySeed + GOLDEN_GAMMA * (2L * index + 2));
+    }
+
+    // Mezcla de SplitMix64: claves pseudoaleatorias sin guardar una tabla por celda
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,57 @@
+package com.atraparalagato.impl.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Buffers guardados fuera del heap, en archivos temporales mapeados a memoria.
+ *
+ * El archivo se borra al cerrar el canal; el mapeo sigue siendo válido hasta que el
+ * buffer deja de usarse. Los datos no cuentan para el heap ni los recorre el GC, y el
+ * sistema operativo puede llevar a disco las páginas que no se están usando.
+ * Un mapeo tiene como máximo Integer.MAX_VALUE bytes.
+ *
+ * Conceptos implementados:
+ * - Gestión de memoria: almacenamiento fuera del heap con MappedByteBuffer
+ */
+final class OffHeapBuffers {
+
+    private OffHeapBuffers() {
+    }
+
+    static IntBuffer ints(long count) {
+        return map(count * Integer.BYTES).asIntBuffer();
+    }
+
+    static LongBuffer longs(long count) {
+        return map(count * Long.BYTES).asLongBuffer();
+    }
+
+    static ByteBuffer bytes(long count) {
+        return map(count);
+    }
+
+    private static ByteBuffer map(long bytes) {
+        if (bytes < 0 || bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Off-heap buffer too large: " + bytes + " bytes");
+        }
+        try {
+            Path file = Files.createTempFile("hexboard", ".bin");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE)) {
+                // Un archivo nuevo se lee como ceros, igual que un arreglo recién creado
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes).order(ByteOrder.nativeOrder());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map off-heap buffer", e);
+        }
+    }
+}
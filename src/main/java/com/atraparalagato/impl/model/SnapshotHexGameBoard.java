@@ -0,0 +1,107 @@
+package com.atraparalagato.impl.model;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tablero hexagonal cuyo único almacenamiento es una foto persistente.
+ *
+ * Crearlo desde una foto es O(1) y cada movimiento solo produce una versión nueva
+ * de la foto, sin tocar la original. Se usa como capa para evaluar movimientos
+ * hipotéticos (withTentativeMove): el tablero de la partida nunca se modifica y
+ * descartar la capa es deshacer el movimiento.
+ *
+ * La capa usa la topología del tablero de origen y le pide a él la memoria por celda,
+ * así que sobre un HugeHexGameBoard todo sigue fuera del heap y no se crea (ni queda
+ * en la caché de HexTopology) una topología en el heap.
+ *
+ * Conceptos implementados:
+ * - OOP: Sustituye a HexGameBoard sin cambiar el contrato de GameBoard
+ * - Inmutabilidad: las fotos compartidas nunca cambian
+ */
+class SnapshotHexGameBoard extends HexGameBoard {
+
+    private final HexGameBoard source;
+
+    SnapshotHexGameBoard(HexGameBoard source) {
+        super(source.getSize(), source.getTopology());
+        this.source = source;
+        restore(source.snapshot());
+    }
+
+    @Override
+    protected Set<HexPosition> initializeBlockedPositions() {
+        return new SnapshotView();
+    }
+
+    @Override
+    protected BoardJournal createJournal() {
+        return new BoardJournal(0);
+    }
+
+    @Override
+    protected IntBuffer allocateCellInts(int count) {
+        return source.allocateCellInts(count);
+    }
+
+    @Override
+    protected ByteBuffer allocateCellBytes(int count) {
+        return source.allocateCellBytes(count);
+    }
+
+    @Override
+    protected void reloadBlockedPositions(BoardSnapshot snapshot) {
+        // La vista lee siempre la foto actual: no hay nada que recargar
+    }
+
+    @Override
+    public boolean isBlocked(HexPosition position) {
+        return snapshot().isBlocked(position);
+    }
+
+    @Override
+    public boolean isBlocked(int index) {
+        return snapshot().isBlocked(index);
+    }
+
+    @Override
+    public void executeMove(HexPosition position) {
+        int index = position.toIndex(size);
+        if (index < 0) {
+            throw new IllegalArgumentException("Position out of board: " + position);
+        }
+        if (!snapshot().isBlocked(index)) {
+            onCellBlocked(index);
+            blockedPositionsChanged();
+        }
+    }
+
+    /**
+     * Conjunto de solo lectura sobre la foto actual del tablero.
+     */
+    private final class SnapshotView extends AbstractSet<HexPosition> {
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof HexPosition position && snapshot().isBlocked(position);
+        }
+
+        @Override
+        public int size() {
+            return snapshot().getBlockedCount();
+        }
+
+        @Override
+        public Iterator<HexPosition> iterator() {
+            List<HexPosition> blocked = new ArrayList<>(size());
+            snapshot().forEachBlocked(index -> blocked.add(topology.positionAt(index)));
+            return Collections.unmodifiableList(blocked).iterator();
+        }
+    }
+}
@@ -6,22 +6,30 @@ import com.atraparalagato.base.model.GameBoard;
 import com.atraparalagato.base.strategy.CatMovementStrategy;
 import com.atraparalagato.impl.model.HexPosition;
 import com.atraparalagato.impl.repository.H2GameRepository;
-import com.atraparalagato.impl.strategy.AStarCatMovement;
+import com.atraparalagato.impl.strategy.AlphaBetaCatMovement;
 import com.atraparalagato.impl.strategy.BFSCatMovement;
+import com.atraparalagato.impl.strategy.DStarLiteCatMovement;
+import com.atraparalagato.impl.strategy.MonteCarloAdvisor;
+import com.atraparalagato.impl.strategy.MonteCarloCatMovement;
+import com.atraparalagato.impl.strategy.VertexCutSolver;
 import com.atraparalagato.impl.model.HexGameState;
+import com.atraparalagato.impl.model.BoardJournal;
+import com.atraparalagato.impl.model.HexBorder;
 import com.atraparalagato.impl.model.HexGameBoard;
+import com.atraparalagato.impl.model.HexGameBoardPool;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 import com.atraparalagato.base.repository.DataRepository;
 
-import java.util.function.Function;
-import java.util.function.Supplier;
-
 /**
  * Implementación esqueleto de GameService para el juego hexagonal.
  * 
@@ -39,32 +47,44 @@ public class HexGameService extends GameService<HexPosition> {
     // Los estudiantes deben inyectar dependencias
     // Ejemplos: repository, movementStrategy, validator, etc.
 
-    public final H2GameRepository gameRepository;
-    private final CatMovementStrategy<HexPosition> movementStrategy;
-    private final Function<Integer, GameBoard<HexPosition>> boardFactory;
-    private final Function<String, GameState<HexPosition>> gameStateFactory;
-    private final Supplier<String> gameIdGenerator;
+    public final DataRepository<HexGameState, String> gameRepository;
+    
+    /**
+     * Cantidad máxima de partidas vivas; al pasarla se suelta la usada hace más tiempo.
+     */
+    public static final int MAX_ACTIVE_GAMES = 256;
+    
+    // Partidas en curso por gameId. El repositorio reconstruye el estado en cada consulta,
+    // así que lo que debe sobrevivir entre turnos (tablero de la reserva, historial para
+    // deshacer, estrategia del gato) vive aquí; se ordena por último acceso para soltar la
+    // más antigua
+    private final Map<String, ActiveGame> activeGames = new LinkedHashMap<>(16, 0.75f, true);
+    
+    // El servicio base exige un tablero y una estrategia por defecto que este servicio
+    // no usa (cada partida tiene los suyos): se comparten entre todas las instancias
+    private static final HexGameBoard DEFAULT_BOARD = new HexGameBoard(11);
+    private static final CatMovementStrategy<HexPosition> DEFAULT_STRATEGY = new BFSCatMovement(DEFAULT_BOARD);
         
     public HexGameService() {
-        // Los estudiantes deben inyectar las dependencias requeridas
-        // Configuración del DataSource para H2 en memoria
+        // Un solo repositorio (H2 en memoria) para el servicio base y para este
+        this(new H2GameRepository());
+    }
+    
+    /**
+     * Servicio sobre otro repositorio, por ejemplo uno en memoria para pruebas.
+     */
+    @SuppressWarnings("unchecked")
+    public HexGameService(DataRepository<HexGameState, String> repository) {
         super(
-            new HexGameBoard(11), // GameBoard<HexPosition>
-            new BFSCatMovement(new HexGameBoard(11)), // CatMovementStrategy<HexPosition>
+            DEFAULT_BOARD, // GameBoard<HexPosition>
+            DEFAULT_STRATEGY, // CatMovementStrategy<HexPosition>
             // Cast to match DataRepository<GameState<HexPosition>, String>
-            (DataRepository<GameState<HexPosition>, String>) (DataRepository<?, ?>)
-                new H2GameRepository(),
+            (DataRepository<GameState<HexPosition>, String>) (DataRepository<?, ?>) repository,
             () -> java.util.UUID.randomUUID().toString(), // Supplier<String>
-            size -> new HexGameBoard(size), // Function<Integer, GameBoard<HexPosition>>
+            size -> HexGameBoardPool.shared().acquire(size), // Function<Integer, GameBoard<HexPosition>>
             id -> new HexGameState(id, 11) // Function<String, GameState<HexPosition>>
         );
-        
-        // Inicializar el repositorio con el DataSource configurado
-        this.gameRepository = new H2GameRepository();
-    
-        // Inicializar dependencias y configuración
-        // Pista: Usar el patrón Factory para crear componentes
-        throw new UnsupportedOperationException("Los estudiantes deben implementar el constructor");
+        this.gameRepository = repository;
     }
     
       
@@ -73,6 +93,15 @@ public class HexGameService extends GameService<HexPosition> {
      * Debe ser más sofisticado que ExampleGameService.
      */
     public HexGameState startNewGame(int boardSize, String difficulty, Map<String, Object> options) {
+        return startNewGame(boardSize, difficulty, options, HexGameService::shareState);
+    }
+    
+    /**
+     * Crear un nuevo juego y leerlo con la vista dada. La vista corre mientras el
+     * tablero no puede volver a la reserva; el estado no debe salir de ella.
+     */
+    public <R> R startNewGame(int boardSize, String difficulty, Map<String, Object> options,
+                              Function<HexGameState, R> view) {
         // 1. Validar parámetros de entrada
         if (boardSize < 3) {
             throw new IllegalArgumentException("El tamaño del tablero debe ser al menos 3");
@@ -82,66 +111,127 @@ public class HexGameService extends GameService<HexPosition> {
         }
 
         // 2. Crear tablero según dificultad (puedes personalizar según dificultad)
-        HexGameBoard board = new HexGameBoard(boardSize);
+        // Se reutiliza uno de la reserva si hay; el mismo tablero es el de la partida
+        HexGameBoard board = HexGameBoardPool.shared().acquire(boardSize);
 
-        // 3. Configurar estrategia del gato según dificultad
-        CatMovementStrategy<HexPosition> movementStrategy = createMovementStrategy(difficulty, board);
-
-        // 4. Inicializar estado del juego
+        // 3. Inicializar estado del juego
         String gameId = generateGameId();
-        HexGameState gameState = new HexGameState(gameId, boardSize);
+        HexGameState gameState = new HexGameState(gameId, board);
+        gameState.setDifficulty(difficulty);
 
-        // 4.1 Configurar la posición inicial del gato en el centro (q:0, r:0, s:0)
-        gameState.setCatPosition(new HexPosition(0, 0));
+        // 3.1 La posición inicial del gato es el centro (q:0, r:0, s:0): la fija el estado
 
-        // 5. Guardar en repositorio
+        // 4. Guardar en repositorio y dejar la partida viva para los próximos turnos
+        // El uso marcado antes de registrarla cubre la vista aunque se suelte enseguida
         gameRepository.save(gameState);
+        gameState.retain();
+        try {
+            register(gameState);
 
-        // 6. Configurar callbacks y eventos
-        configureGameCallbacks(gameState);
+            // 5. Configurar callbacks y eventos
+            configureGameCallbacks(gameState);
 
-        // Puedes agregar lógica adicional para opciones avanzadas aquí
+            // Puedes agregar lógica adicional para opciones avanzadas aquí
 
-        return gameState;
+            return view.apply(gameState);
+        } finally {
+            gameState.unretain();
+        }
     }
     
     /**
      * Ejecutar movimiento del jugador con validaciones avanzadas.
      */
     public Optional<HexGameState> executePlayerMove(String gameId, HexPosition position, String playerId) {
-           // 1. Obtener el estado actual del juego
-        Optional<HexGameState> gameStateOpt = gameRepository.findById(gameId);
-        if (gameStateOpt.isEmpty()) {
-            return Optional.empty();
-        }
-        HexGameState gameState = gameStateOpt.get();
-
-        // 2. Validar si el juego ya terminó
-        if (gameState.isGameFinished()) {
-            return Optional.of(gameState);
-        }
+        return executePlayerMove(gameId, position, playerId, HexGameService::shareState);
+    }
+    
+    /**
+     * Ejecutar movimiento del jugador y leer el resultado con la vista dada, antes de
+     * que el tablero de una partida terminada vuelva a la reserva.
+     */
+    public <R> Optional<R> executePlayerMove(String gameId, HexPosition position, String playerId,
+                                             Function<HexGameState, R> view) {
+        // 1. Obtener el estado actual del juego (las jugadas sobre una partida van de a una)
+        return updateGame(gameId, gameState -> {
+            // 2. Validar si el juego ya terminó
+            if (gameState.isGameFinished()) {
+                return view.apply(gameState);
+            }
 
-        // 3. Validar si el movimiento es válido según las reglas del tablero
-        if (!gameState.getGameBoard().isValidMove(position)) {
-            return Optional.of(gameState);
-        }
+            // 3. Validar si el movimiento es válido según las reglas del tablero
+            if (!gameState.getGameBoard().isValidMove(position)) {
+                return view.apply(gameState);
+            }
 
-        // 4. Ejecutar el movimiento del jugador (bloquear la celda)
-        gameState.getGameBoard().executeMove(position);
+            // 4. Ejecutar el movimiento del jugador (bloquear la celda)
+            // Guardar antes el estado para poder deshacerlo (la foto del tablero es O(1))
+            // makeMove dispara onMoveExecuted, que mantiene al día el campo de distancias
+            gameState.saveCheckpoint();
+            gameState.getGameBoard().makeMove(position);
 
-        // 5. Incrementar el contador de movimientos
-        gameState.incrementMoveCount();
+            // 5. Incrementar el contador de movimientos
+            gameState.incrementMoveCount();
 
-        // 6. Actualizar el estado del juego (verifica si el jugador ganó/perdió)
-        gameState.updateGameStatus();
+            // 6. Actualizar el estado del juego (verifica si el jugador ganó/perdió)
+            gameState.updateGameStatus();
 
-        // 7. Guardar el estado actualizado
-        gameRepository.save(gameState);
+            // 6.1 Si la partida sigue, responde el gato con la estrategia de la partida
+            if (!gameState.isGameFinished()) {
+                executeCatMove(gameState);
+            }
 
-        return Optional.of(gameState);    
+            // 7. Guardar el estado actualizado
+            gameRepository.save(gameState);
+            return view.apply(gameState);
+        });
     }
 
     
+    /**
+     * Estado vivo de la partida. Si no está en memoria (se soltó o el servidor se
+     * reinició) se carga del repositorio y queda viva desde ese momento.
+     * El estado sale del servicio, así que su tablero ya no vuelve a la reserva: para
+     * leer una partida sin retenerlo, usar withGame.
+     */
+    public Optional<HexGameState> getGameState(String gameId) {
+        return withGame(gameId, HexGameService::shareState);
+    }
+    
+    /**
+     * Lee la partida viva con la acción dada. Mientras la acción corre, el tablero no
+     * vuelve a la reserva aunque la partida termine o expire; el estado no debe salir
+     * de la acción.
+     */
+    public <R> Optional<R> withGame(String gameId, Function<HexGameState, R> action) {
+        HexGameState gameState = acquire(gameId);
+        if (gameState == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(action.apply(gameState));
+        } finally {
+            gameState.unretain();
+        }
+    }
+    
+    /**
+     * Suelta la partida: deja de estar viva y su tablero vuelve a la reserva cuando
+     * nadie lo está usando. Después se puede volver a cargar del repositorio.
+     */
+    public void releaseGame(String gameId) {
+        ActiveGame live;
+        synchronized (activeGames) {
+            live = activeGames.get(gameId);
+        }
+        if (live != null) {
+            // Espera la jugada en curso; el callback de release la saca del mapa
+            synchronized (live.state) {
+                live.state.release();
+            }
+        }
+    }
+    
     /**
      * Obtener estado del juego con información enriquecida.
      */
@@ -153,12 +243,10 @@ public class HexGameService extends GameService<HexPosition> {
         // 3. Sugerencias de movimiento
         // 4. Análisis de la partida
         // 5. Información del tablero
-        Optional<HexGameState> gameStateOpt = gameRepository.findById(gameId);
-        if (gameStateOpt.isEmpty()) {
-            return Optional.empty();
-        }
-        HexGameState gameState = gameStateOpt.get();
-
+        return withGame(gameId, this::enrich);
+    }
+    
+    private Map<String, Object> enrich(HexGameState gameState) {
         Map<String, Object> enriched = new HashMap<>();
 
         // 1. Estado básico del juego (serializable)
@@ -176,17 +264,20 @@ public class HexGameService extends GameService<HexPosition> {
         enriched.put("suggestedMove", suggestedMove);
 
         // 4. Análisis de la partida (usa el método analyzeGame si está implementado)
-        enriched.put("analysis", analyzeGame(gameId));
+        enriched.put("analysis", analyze(gameState));
 
         // 5. Información del tablero (bloqueadas y tamaño)
         enriched.put("blockedPositions", gameState.getGameBoard().getBlockedPositions());
         enriched.put("boardSize", gameState.getBoardSize());
 
-        return Optional.of(enriched);
+        return enriched;
     }
     
     /**
      * Obtener sugerencia inteligente de movimiento.
+     * 
+     * La búsqueda la decide la dificultad de la partida: difficulty ya no se usa y se
+     * mantiene solo por compatibilidad con quienes llaman a este método.
      */
     public Optional<HexPosition> getIntelligentSuggestion(String gameId, String difficulty) {
         // Generar sugerencia inteligente
@@ -197,62 +288,37 @@ public class HexGameService extends GameService<HexPosition> {
         // 4. Retornar la mejor sugerencia según dificultad
 
         // 1. Obtener el estado actual del juego
-        Optional<HexGameState> gameStateOpt = gameRepository.findById(gameId);
-        if (gameStateOpt.isEmpty()) {
-            return Optional.empty();
-        }
-        HexGameState gameState = gameStateOpt.get();
-
+        return withGame(gameId, gameState -> suggest(gameState).orElse(null));
+    }
+    
+    private Optional<HexPosition> suggest(HexGameState gameState) {
         // 2. Analizar el estado actual del tablero
         HexGameBoard board = gameState.getGameBoard();
         HexPosition catPosition = gameState.getCatPosition();
 
-        // 3. Obtener todos los movimientos posibles del jugador (celdas no bloqueadas)
-        List<HexPosition> possibleMoves = board.getPositionsWhere(pos -> board.isValidMove(pos));
-
-        // 4. Predecir movimientos futuros del gato usando la estrategia de la dificultad
-        CatMovementStrategy<HexPosition> strategy = createMovementStrategy(difficulty, board);
-        HexPosition targetPosition = getTargetPosition(gameState);
-
-        // 5. Evaluar cada movimiento posible: simular el movimiento y ver qué tan cerca queda el gato del borde
-        HexPosition bestMove = null;
-        int minCatEscapeDistance = Integer.MAX_VALUE;
-
-        for (HexPosition move : possibleMoves) {
-            // Simular el movimiento: bloquear la celda
-            board.executeMove(move);
-
-            // Predecir el siguiente movimiento del gato
-            HexPosition nextCatPosition = null;
-            if (strategy instanceof BFSCatMovement bfs) {
-                List<HexPosition> catMoves = board.getAdjacentPositions(catPosition);
-                nextCatPosition = bfs.selectBestMove(catMoves, catPosition, targetPosition).orElse(catPosition);
-            } else if (strategy instanceof AStarCatMovement astar) {
-                List<HexPosition> catMoves = board.getAdjacentPositions(catPosition);
-                nextCatPosition = astar.selectBestMove(catMoves, catPosition, targetPosition).orElse(catPosition);
+        // En "experto" el gato busca con Monte Carlo: la pista se busca igual, desde el jugador.
+        // Decide la dificultad de la partida, no la que manda el cliente: la búsqueda ocupa
+        // todo su presupuesto de tiempo en el pool de búsquedas
+        if ("experto".equalsIgnoreCase(gameState.getDifficulty())) {
+            Optional<HexPosition> block = new MonteCarloAdvisor().suggestBlock(board, catPosition);
+            if (block.isPresent()) {
+                return block;
             }
+        }
 
-            // Calcular la distancia del gato al borde después de este movimiento
-            int q = nextCatPosition.getQ();
-            int r = nextCatPosition.getR();
-            int s = nextCatPosition.getS();
-            int boardSize = board.getSize() - 1;
-            int catEscapeDistance = Math.min(Math.min(boardSize - Math.abs(q), boardSize - Math.abs(r)), boardSize - Math.abs(s));
-
-            // Deshacer la simulación (quitar el bloqueo)
-            board.getBlockedPositions().remove(move);
-
-            // Elegir el movimiento que deja al gato más lejos del borde
-            if (catEscapeDistance > minCatEscapeDistance) {
-                continue;
-            }
-            if (catEscapeDistance < minCatEscapeDistance) {
-                minCatEscapeDistance = catEscapeDistance;
-                bestMove = move;
-            }
+        // 3. Corte mínimo entre el gato y el borde: las menos celdas que lo encierran.
+        // Se sugiere la del corte que deja al gato más lejos del borde, con un solo cálculo de flujo
+        Optional<HexPosition> cutMove = new VertexCutSolver(board).suggestBlock(catPosition);
+        if (cutMove.isPresent()) {
+            return cutMove;
         }
 
-        return Optional.ofNullable(bestMove);
+        // Sin corte (el gato ya está encerrado o en el borde): no hay nada que evaluar en
+        // todo el tablero. Se sugiere bloquear el vecino libre por el que el gato seguiría
+        // según el campo de distancias, o nada si no queda ninguno bloqueable
+        return board.getAdjacentPositions(catPosition).stream()
+                .filter(board::isValidMove)
+                .min(Comparator.comparingInt(board::getDistanceToBorder));
     }
     
     /**
@@ -266,19 +332,18 @@ public class HexGameService extends GameService<HexPosition> {
         // 3. Momentos clave de la partida
         // 4. Sugerencias de mejora
         // 5. Comparación con partidas similares
-        Optional<HexGameState> gameStateOpt = gameRepository.findById(gameId);
-        if (gameStateOpt.isEmpty()) {
-            return Map.of("error", "No se encontró la partida con el ID proporcionado");
-        }
-        HexGameState gameState = gameStateOpt.get();
-
+        return withGame(gameId, this::analyze)
+            .orElse(Map.of("error", "No se encontró la partida con el ID proporcionado"));
+    }
+    
+    private Map<String, Object> analyze(HexGameState gameState) {
         // 1. Eficiencia de movimientos y estrategia utilizada (usa método avanzado del estado)
         Map<String, Object> advancedStats = gameState.getAdvancedStatistics();
 
         // 2. Momentos clave de la partida (ejemplo: primer y último movimiento)
         // Como no hay historial, solo se puede mostrar el inicio y el final
         Map<String, Object> keyMoments = Map.of(
-            "inicio", Map.of("catPosition", new HexPosition(0, 0)),
+            "inicio", Map.of("catPosition", HexPosition.of(0, 0)),
             "final", Map.of("catPosition", gameState.getCatPosition())
         );
 
@@ -377,23 +442,18 @@ public class HexGameService extends GameService<HexPosition> {
         // 2. Tiempo límite por movimiento
         // 3. Ayudas disponibles
         // 4. Sistema de puntuación
-         Optional<HexGameState> gameStateOpt = gameRepository.findById(gameId);
-        if (gameStateOpt.isEmpty()) {
+        // La partida guarda la dificultad; el próximo movimiento del gato crea la estrategia
+        // nueva para el tablero de la partida (ver getMovementStrategy)
+        Optional<HexGameState> updated = updateGame(gameId, gameState -> {
+            gameState.setDifficulty(difficulty);
+
+            // Guardar el estado actualizado
+            gameRepository.save(gameState);
+            return gameState;
+        });
+        if (updated.isEmpty()) {
             throw new IllegalArgumentException("No existe un juego con el ID proporcionado");
         }
-        HexGameState gameState = gameStateOpt.get();
-
-        // Obtener el tablero actual
-        HexGameBoard board = gameState.getGameBoard();
-
-        // Crear la nueva estrategia de movimiento según la dificultad
-        CatMovementStrategy<HexPosition> newStrategy = createMovementStrategy(difficulty, board);
-
-        // No hay campo de estrategia en HexGameState, así que la estrategia debe usarse en el servicio
-        // Puedes guardar la dificultad en el estado si tienes un campo, o simplemente notificar el cambio
-
-        // Guardar el estado actualizado (si modificaste algún campo relevante)
-        gameRepository.save(gameState);
 
         // Notificar el cambio de dificultad (opcional)
         notifyGameEvent(gameId, "difficulty_changed", Map.of("difficulty", difficulty));
@@ -408,22 +468,23 @@ public class HexGameService extends GameService<HexPosition> {
         // 1. Guardar timestamp de pausa
         // 2. Actualizar estado del juego
         // 3. Notificar cambio de estado
-        Optional<HexGameState> gameStateOpt = gameRepository.findById(gameId);
-        if (gameStateOpt.isEmpty()) {
+        Optional<Boolean> toggled = updateGame(gameId, gameState -> {
+            // Cambia el estado del campo 'paused' directamente
+            // (Asegúrate de que 'paused' sea un campo booleano público o con acceso de paquete)
+            boolean pauseState = !(gameState.paused); // invierte el estado actual
+            gameState.paused = pauseState;
+
+            // (Opcional) Guardar timestamp de pausa/reanudación si tienes ese campo
+            // gameState.pauseTimestamp = System.currentTimeMillis();
+
+            // Guardar el estado actualizado
+            gameRepository.save(gameState);
+            return pauseState;
+        });
+        if (toggled.isEmpty()) {
             return false;
         }
-        HexGameState gameState = gameStateOpt.get();
-
-        // Cambia el estado del campo 'paused' directamente
-        // (Asegúrate de que 'paused' sea un campo booleano público o con acceso de paquete)
-        boolean newPauseState = !(gameState.paused); // invierte el estado actual
-        gameState.paused = newPauseState;
-
-        // (Opcional) Guardar timestamp de pausa/reanudación si tienes ese campo
-        // gameState.pauseTimestamp = System.currentTimeMillis();
-
-        // Guardar el estado actualizado
-        gameRepository.save(gameState);
+        boolean newPauseState = toggled.get();
 
         // Notificar el cambio de estado (puedes implementar notifyGameEvent)
         notifyGameEvent(gameId, newPauseState ? "paused" : "resumed", Map.of());
@@ -442,16 +503,64 @@ public class HexGameService extends GameService<HexPosition> {
         // 3. Ajustar puntuación
         // 4. Validar que se puede deshacer
         // 1. Obtener el estado actual del juego
-        Optional<HexGameState> gameStateOpt = gameRepository.findById(gameId);
-        if (gameStateOpt.isEmpty()) {
-            return Optional.empty();
-        }
-        HexGameState gameState = gameStateOpt.get();
+        // 2. Restaurar el estado anterior desde el historial (tablero, gato, movimientos y estado)
+        // El historial vive en la partida en memoria; si no hay, se retorna el estado sin cambios
+        return updateGame(gameId, gameState -> {
+            if (gameState.undo()) {
+                gameRepository.save(gameState);
+                notifyGameEvent(gameId, "move_undone", Map.of("moveCount", gameState.getMoveCount()));
+            }
+            return shareState(gameState);
+        });
+    }
+    
+    /**
+     * Rehacer el último movimiento deshecho.
+     */
+    public Optional<HexGameState> redoLastMove(String gameId) {
+        return updateGame(gameId, gameState -> {
+            if (gameState.redo()) {
+                gameRepository.save(gameState);
+                notifyGameEvent(gameId, "move_redone", Map.of("moveCount", gameState.getMoveCount()));
+            }
+            return shareState(gameState);
+        });
+    }
+    
+    /**
+     * Obtener los cambios del tablero desde una secuencia del diario.
+     * Si el diario ya descartó alguno de esos cambios, o si entre ellos se restauró el
+     * tablero (deshacer/rehacer), se pide recargar el estado completo.
+     */
+    public Optional<Map<String, Object>> getBoardChangesSince(String gameId, long sequence) {
+        return withGame(gameId, gameState -> changesSince(gameState.getGameBoard(), sequence));
+    }
+    
+    private Map<String, Object> changesSince(HexGameBoard board, long sequence) {
+        BoardJournal journal = board.getJournal();
+
+        List<Map<String, Object>> changes = new ArrayList<>();
+        boolean[] restored = {false};
+        boolean complete = journal.forEachSince(sequence, (seq, cell, moveNumber, catIndex) -> {
+            Map<String, Object> change = new HashMap<>();
+            change.put("sequence", seq);
+            change.put("moveNumber", moveNumber);
+            if (cell == BoardJournal.RESTORED) {
+                restored[0] = true;
+            } else {
+                change.put("blockedCell", board.positionAt(cell));
+            }
+            if (catIndex != BoardJournal.UNKNOWN_CAT) {
+                change.put("catPosition", board.positionAt(catIndex));
+            }
+            changes.add(change);
+        });
 
-        // Si no tienes historial de movimientos, no puedes deshacer
-        // Puedes retornar el estado actual sin cambios
-        // O lanzar una excepción si lo prefieres
-        return Optional.of(gameState);
+        Map<String, Object> result = new HashMap<>();
+        result.put("resync", !complete || restored[0]);
+        result.put("changes", changes);
+        result.put("nextSequence", journal.nextSequence());
+        return result;
     }
     
     /**
@@ -492,6 +601,120 @@ public class HexGameService extends GameService<HexPosition> {
     
     // Métodos auxiliares que los estudiantes pueden implementar
     
+    /**
+     * Aplica una jugada o un cambio a la partida viva, de a uno por partida. Si mientras
+     * se esperaba el turno la partida expiró, se aplica sobre la recargada del
+     * repositorio; si después del cambio la partida terminó, se suelta (su tablero
+     * vuelve a la reserva cuando termina el último uso).
+     */
+    private <R> Optional<R> updateGame(String gameId, Function<HexGameState, R> update) {
+        while (true) {
+            HexGameState gameState = acquire(gameId);
+            if (gameState == null) {
+                return Optional.empty();
+            }
+            try {
+                synchronized (gameState) {
+                    if (gameState.isReleased() && !gameState.isGameFinished()) {
+                        continue;
+                    }
+                    R result = update.apply(gameState);
+                    if (gameState.isGameFinished()) {
+                        gameState.release();
+                    }
+                    return Optional.ofNullable(result);
+                }
+            } finally {
+                gameState.unretain();
+            }
+        }
+    }
+    
+    // Estado vivo de la partida con un uso marcado (retain), o null si no existe
+    private HexGameState acquire(String gameId) {
+        while (true) {
+            ActiveGame live;
+            synchronized (activeGames) {
+                live = activeGames.get(gameId);
+            }
+            HexGameState gameState = live != null
+                    ? live.state
+                    : gameRepository.findById(gameId).map(this::register).orElse(null);
+            if (gameState == null) {
+                return null;
+            }
+            if (gameState.retain()) {
+                return gameState;
+            }
+            // Se soltó entre la búsqueda y el retain: se vuelve a buscar
+        }
+    }
+    
+    // El estado sale del servicio sin aviso de cuándo se deja de usar
+    private static HexGameState shareState(HexGameState gameState) {
+        gameState.share();
+        return gameState;
+    }
+    
+    /**
+     * Deja viva la partida y retorna el estado que quedó registrado: si otra consulta
+     * la cargó primero, se usa esa y la copia recién cargada devuelve su tablero.
+     * Al pasar de MAX_ACTIVE_GAMES se suelta la partida usada hace más tiempo; su
+     * tablero vuelve a la reserva recién cuando nadie lo está usando.
+     */
+    private HexGameState register(HexGameState gameState) {
+        HexGameState evicted = null;
+        synchronized (activeGames) {
+            ActiveGame live = activeGames.putIfAbsent(gameState.getGameId(), new ActiveGame(gameState));
+            if (live != null) {
+                gameState.release();
+                return live.state;
+            }
+            if (activeGames.size() > MAX_ACTIVE_GAMES) {
+                Iterator<ActiveGame> eldest = activeGames.values().iterator();
+                evicted = eldest.next().state;
+                eldest.remove();
+            }
+        }
+        gameState.setOnReleased(this::forget);
+        if (evicted != null) {
+            synchronized (evicted) {
+                evicted.release();
+            }
+        }
+        return gameState;
+    }
+    
+    // Saca la partida del mapa cuando su estado se suelta (solo si sigue siendo la registrada)
+    private void forget(HexGameState gameState) {
+        synchronized (activeGames) {
+            ActiveGame live = activeGames.get(gameState.getGameId());
+            if (live != null && live.state == gameState) {
+                activeGames.remove(gameState.getGameId());
+            }
+        }
+    }
+    
+    /**
+     * Estrategia del gato de la partida, creada para su tablero y su dificultad y
+     * conservada entre turnos (el replanificador incremental y la tabla de
+     * transposición dependen de eso). Si la partida no está viva se crea una de un uso.
+     */
+    CatMovementStrategy<HexPosition> getMovementStrategy(HexGameState gameState) {
+        String difficulty = gameState.getDifficulty();
+        synchronized (activeGames) {
+            ActiveGame live = activeGames.get(gameState.getGameId());
+            if (live == null || live.state != gameState) {
+                return createMovementStrategy(difficulty, gameState.getGameBoard());
+            }
+            if (!difficulty.equals(live.difficulty)) {
+                live.strategy = createMovementStrategy(difficulty, gameState.getGameBoard());
+                live.difficulty = difficulty;
+            }
+            return live.strategy;
+        }
+    }
+    
     /**
      * Validar movimiento según reglas avanzadas.
      */
@@ -512,32 +735,25 @@ public class HexGameService extends GameService<HexPosition> {
     
     /**
      * Ejecutar movimiento del gato usando estrategia apropiada.
+     * La estrategia es la de la partida (ver getMovementStrategy), no la por defecto del
+     * servicio base; también la usa executePlayerMove(gameId, position) del servicio base.
      */
-    private void executeCatMove(HexGameState gameState, String difficulty) {
-        HexGameBoard board = gameState.getGameBoard();
-        HexPosition currentCatPosition = gameState.getCatPosition();
-
-        // Selecciona la estrategia según la dificultad
-        CatMovementStrategy<HexPosition> strategy = createMovementStrategy(difficulty, board);
-
-        // Obtener movimientos posibles
-        List<HexPosition> possibleMoves = board.getAdjacentPositions(currentCatPosition);
+    @Override
+    protected void executeCatMove(GameState<HexPosition> gameState) {
+        HexGameState hexState = (HexGameState) gameState;
+        HexGameBoard board = hexState.getGameBoard();
+        HexPosition currentCatPosition = hexState.getCatPosition();
+        CatMovementStrategy<HexPosition> strategy = getMovementStrategy(hexState);
 
         // Determinar la posición objetivo (por ejemplo, el borde más cercano)
-        HexPosition targetPosition = getTargetPosition(gameState);
-
-        HexPosition nextCatPosition = null;
-        if (strategy instanceof BFSCatMovement bfs) {
-            nextCatPosition = bfs.selectBestMove(possibleMoves, currentCatPosition, targetPosition)
-                                .orElse(null);
-        } else if (strategy instanceof AStarCatMovement astar) {
-            nextCatPosition = astar.selectBestMove(possibleMoves, currentCatPosition, targetPosition)
-                                .orElse(null);
-        }
+        HexPosition targetPosition = getTargetPosition(hexState);
+
+        HexPosition nextCatPosition = strategy.findBestMove(currentCatPosition, targetPosition).orElse(null);
 
         // Si el movimiento es válido, actualiza la posición del gato
         if (nextCatPosition != null && board.isValidMove(nextCatPosition)) {
-            gameState.setCatPosition(nextCatPosition);
+            hexState.setCatPosition(nextCatPosition);
+            onCatMoved(hexState, nextCatPosition);
         }
     }
     
@@ -588,28 +804,39 @@ public class HexGameService extends GameService<HexPosition> {
      * @param board Tablero de juego
      * @return Estrategia de movimiento para el gato
      */
-    private CatMovementStrategy<HexPosition> createMovementStrategy(String difficulty, HexGameBoard board) {
+    private CatMovementStrategy<HexPosition> createMovementStrategy(String difficulty, GameBoard<HexPosition> board) {
         switch (difficulty.toLowerCase()) {
             case "fácil":
                 return new BFSCatMovement(board); // Utiliza BFS para fácil
             case "dificil":            
-                return new AStarCatMovement(board); // Utiliza A* para difícil
+                return new AlphaBetaCatMovement(board); // Búsqueda adversaria con tiempo acotado
+            case "experto":
+                return new MonteCarloCatMovement(board); // Partidas rápidas en paralelo en el pool de búsquedas
             case "normal":
             default:
-                return new BFSCatMovement(board); // Puedes ajustar según preferencia
+                return new DStarLiteCatMovement(board); // Replanifica solo lo que cambió entre turnos
         }
     }
 
     // Métodos abstractos requeridos por GameService
     
+    @Override
+    protected Optional<GameState<HexPosition>> loadGameState(String gameId) {
+        // El servicio base también juega sobre la partida viva
+        return getGameState(gameId).map(gameState -> gameState);
+    }
+    
     @Override
     protected void initializeGame(GameState<HexPosition> gameState, GameBoard<HexPosition> gameBoard) {
         // Inicializar el juego con estado y tablero
         // Inicializa el estado del juego con el tablero proporcionado
         if (gameState instanceof HexGameState hexGameState) {
-        // Asigna el tablero directamente al campo gameBoard
-        hexGameState.getGameBoard(); // Si tienes un método copyFrom, úsalo
-        hexGameState.setCatPosition(new HexPosition(0, 0)); // Gato en el centro
+        // El estado ya trae su propio tablero: el que creó la fábrica vuelve a la reserva
+        if (gameBoard != hexGameState.getGameBoard() && gameBoard instanceof HexGameBoard unused) {
+            HexGameBoardPool.shared().release(unused);
+        }
+        hexGameState.setCatPosition(HexPosition.of(0, 0)); // Gato en el centro
+        register(hexGameState);
         } else {
             throw new IllegalArgumentException("Estado del juego o tablero no es compatible con HexGameState/HexGameBoard");
         }
@@ -618,39 +845,41 @@ public class HexGameService extends GameService<HexPosition> {
     @Override
     public boolean isValidMove(String gameId, HexPosition position) {
         // Validar si un movimiento es válido
-        Optional<HexGameState> gameStateOpt = gameRepository.findById(gameId);
-        if (gameStateOpt.isEmpty()) {
-            return false;
-        }
-        HexGameState gameState = gameStateOpt.get();
-        return gameState.getGameBoard().isValidMove(position);
+        return withGame(gameId, gameState -> gameState.getGameBoard().isValidMove(position))
+            .orElse(false);
 }
     
     @Override
     public Optional<HexPosition> getSuggestedMove(String gameId) {
         // Obtener el estado actual del juego
-        Optional<HexGameState> gameStateOpt = gameRepository.findById(gameId);
-        if (gameStateOpt.isEmpty()) {
-            return Optional.empty();
-        }
-        HexGameState gameState = gameStateOpt.get();
-
+        return withGame(gameId, gameState -> suggestBlock(gameState).orElse(null));
+    }
+    
+    private Optional<HexPosition> suggestBlock(HexGameState gameState) {
         // Obtener la posición actual del gato
         HexPosition catPosition = gameState.getCatPosition();
 
-        // Obtener movimientos posibles
+        HexGameBoard board = gameState.getGameBoard();
+
+        // Pista principal: en "experto" una búsqueda Monte Carlo en paralelo (cuesta todo su
+        // presupuesto de tiempo); en las demás dificultades, el corte mínimo hacia el borde
+        Optional<HexPosition> block = "experto".equalsIgnoreCase(gameState.getDifficulty())
+                ? new MonteCarloAdvisor().suggestBlock(board, catPosition)
+                : new VertexCutSolver(board).suggestBlock(catPosition);
+        if (block.isPresent()) {
+            return block;
+        }
+
+        // Sin sugerencia (tablero demasiado grande o gato ya encerrado): movimientos posibles
         List<HexPosition> possibleMoves = gameState.getGameBoard().getAdjacentPositions(catPosition)
             .stream()
             .filter(pos -> !gameState.getGameBoard().isBlocked(pos))
             .toList();
 
         // Seleccionar el movimiento más cercano a un borde (como sugerencia simple)
+        // La distancia es en pasos libres hasta el borde que define el tablero
         return possibleMoves.stream()
-                .min((a, b) -> {
-                    int distA = Math.min(Math.min(Math.abs(a.getQ()), Math.abs(a.getR())), Math.abs(a.getS()));
-                    int distB = Math.min(Math.min(Math.abs(b.getQ()), Math.abs(b.getR())), Math.abs(b.getS()));
-                    return Integer.compare(distA, distB);
-        });
+                .min(Comparator.comparingInt(board::getDistanceToBorder));
     }
     
     @Override
@@ -660,25 +889,25 @@ public class HexGameService extends GameService<HexPosition> {
         HexGameBoard board = hexState.getGameBoard();
         HexPosition catPosition = hexState.getCatPosition();
 
-        // Encuentra todas las posiciones de borde
-        List<HexPosition> borderPositions = board.getPositionsWhere(pos -> {
-            int size = board.getSize() - 1;
-            return Math.abs(pos.getQ()) == size ||
-                Math.abs(pos.getR()) == size ||
-                Math.abs(pos.getS()) == size;
-        });
+        // El tablero mantiene la distancia al borde de cada celda: basta seguir el gradiente
+        Optional<HexPosition> reachable = board.getNearestReachableBorder(catPosition);
+        if (reachable.isPresent()) {
+            return reachable.get();
+        }
+
+        // Sin camino libre: el borde geométricamente más cercano
+        // Se recorre solo la lista precalculada de celdas de borde
+        HexBorder border = board.getBorder();
 
         // Selecciona la posición de borde más cercana al gato
         HexPosition closest = null;
-        double minDist = Double.POSITIVE_INFINITY;
-        for (HexPosition border : borderPositions) {
-            int dq = Math.abs(catPosition.getQ() - border.getQ());
-            int dr = Math.abs(catPosition.getR() - border.getR());
-            int ds = Math.abs(catPosition.getS() - border.getS());
-            double dist = Math.max(dq, Math.max(dr, ds));
+        int minDist = Integer.MAX_VALUE;
+        for (int b = 0, n = border.size(); b < n; b++) {
+            HexPosition candidate = board.positionAt(border.cellAt(b));
+            int dist = catPosition.hexDistanceTo(candidate);
             if (dist < minDist) {
                 minDist = dist;
-                closest = border;
+                closest = candidate;
             }
         }
         return closest;
@@ -687,20 +916,30 @@ public class HexGameService extends GameService<HexPosition> {
     @Override
     public Object getGameStatistics(String gameId) {
         //Obtener estadísticas del juego
-        Optional<HexGameState> gameStateOpt = gameRepository.findById(gameId);
-        if (gameStateOpt.isEmpty()) {
-            return null;
-        }
-        GameState<HexPosition> gameState = gameStateOpt.get();
-
+        return withGame(gameId, this::statistics).orElse(null);
+    }
+    
+    private Map<String, Object> statistics(HexGameState gameState) {
         // Puedes personalizar las estadísticas según tu lógica
         // Ejemplo: número de movimientos, posiciones bloqueadas, estado del gato, etc.
         Map<String, Object> stats = new java.util.HashMap<>();
         stats.put("moveCount", gameState.getMoveCount());
-        stats.put("blockedPositions", ((HexGameState) gameState).getGameBoard().getBlockedPositions().size());
+        stats.put("blockedPositions", ((HexGameState) gameState).getGameBoard().getBlockedCount());
         stats.put("catPosition", ((HexGameState) gameState).getCatPosition());
         stats.put("isGameOver", gameState.isGameFinished());
 
         return stats;
     }
-}
\ No newline at end of file
+
+    // Entrada de una partida viva: su estado y la estrategia del gato creada para su
+    // tablero, con la dificultad para la que se creó
+    private static final class ActiveGame {
+        private final HexGameState state;
+        private CatMovementStrategy<HexPosition> strategy;
+        private String difficulty;
+
+        private ActiveGame(HexGameState state) {
+            this.state = state;
+        }
+    }
+}
@@ -21,17 +21,21 @@ import java.util.function.Predicate;
  */
 public class AStarCatMovement extends CatMovementStrategy<HexPosition> {
     
+    // Motor de caminos compartido, en modo A* (con heurística)
+    private final ShortestPathEngine engine;
+    
     public AStarCatMovement(GameBoard<HexPosition> board) {
         super(board);
+        this.engine = new ShortestPathEngine(board, true);
     }
     
     @Override
     protected List<HexPosition> getPossibleMoves(HexPosition currentPosition) {
         // Obtener posiciones adyacentes válidas
         // Filtrar posiciones bloqueadas
-        return board.getAdjacentPositions(currentPosition).stream()
-                .filter(pos -> !board.isBlocked(pos))
-                .toList();
+        List<HexPosition> moves = new ArrayList<>(6);
+        board.forEachFreeNeighbor(currentPosition, moves::add);
+        return moves;
     }
     
     @Override
@@ -85,13 +89,8 @@ public class AStarCatMovement extends CatMovementStrategy<HexPosition> {
         // return position -> Math.abs(position.getQ()) == board.getSize() ||
         //                   Math.abs(position.getR()) == board.getSize() ||
         //                   Math.abs(position.getS()) == board.getSize();
-        HexGameBoard hexBoard = (HexGameBoard) board;
-        int size = hexBoard.getSize() - 1; // Suponiendo que el tablero va de 0 a size-1
-
-        return position ->
-            Math.abs(position.getQ()) == size ||
-            Math.abs(position.getR()) == size ||
-            Math.abs(position.getS()) == size;
+        // El tablero define el borde; en HexGameBoard es probar un bit precalculado
+        return board::isAtBorder;
     }
     
     @Override
@@ -112,61 +111,12 @@ public class AStarCatMovement extends CatMovementStrategy<HexPosition> {
         // Retornar true si se encuentra camino, false si no
         // 
         // Pista: Usar getGoalPredicate() para identificar objetivos
-        Predicate<HexPosition> goalPredicate = getGoalPredicate();
-        Set<AStarNode> closedSet = new HashSet<>();
-        PriorityQueue<AStarNode> openSet = new PriorityQueue<>(Comparator.comparingDouble(node -> node.fScore));
-        Map<HexPosition, AStarNode> allNodes = new HashMap<>();
-
-        AStarNode startNode = new AStarNode(
-            currentPosition,
-            0.0,
-            getHeuristicFunction(currentPosition).apply(currentPosition),
-            null
-        );
-        openSet.add(startNode);
-        allNodes.put(currentPosition, startNode);
-
-        while (!openSet.isEmpty()) {
-            AStarNode current = openSet.poll();
-
-            if (goalPredicate.test(current.position)) {
-                return true;
-            }
-
-            closedSet.add(current);
-
-            for (HexPosition neighborPos : getPossibleMoves(current.position)) {
-                double tentativeG = current.gScore + getMoveCost(current.position, neighborPos);
-
-                AStarNode neighborNode = allNodes.get(neighborPos);
-                if (neighborNode == null) {
-                    neighborNode = new AStarNode(
-                        neighborPos,
-                        tentativeG,
-                        tentativeG + getHeuristicFunction(currentPosition).apply(neighborPos),
-                        current
-                    );
-                    allNodes.put(neighborPos, neighborNode);
-                }
-
-                if (closedSet.contains(neighborNode) && tentativeG >= neighborNode.gScore) continue;
-
-                if (tentativeG < neighborNode.gScore) {
-                    neighborNode = new AStarNode(
-                        neighborPos,
-                        tentativeG,
-                        tentativeG + getHeuristicFunction(currentPosition).apply(neighborPos),
-                        current
-                    );
-                    allNodes.put(neighborPos, neighborNode);
-                    if (!openSet.contains(neighborNode)) {
-                        openSet.add(neighborNode);
-                    }
-                }
-            }
+        // El tablero hexagonal mantiene la distancia de cada celda al borde: consulta O(1)
+        if (board instanceof HexGameBoard hexBoard) {
+            return hexBoard.hasEscapeRoute(currentPosition);
         }
-        return false;
-
+        // En otros tableros: A* por índices hasta la primera celda de borde
+        return engine.hasPathToBorder(currentPosition);
     }
     
     @Override
@@ -184,91 +134,10 @@ public class AStarCatMovement extends CatMovementStrategy<HexPosition> {
         //    b. Si es objetivo, reconstruir y retornar camino
         //    c. Mover a closedSet
         //    d. Para cada vecino válido, calcular scores y actualizar
-        // 4. Si no se encuentra camino, retornar lista vacíaSet<AStarNode> closedSet = new HashSet<>();
-        // Utiliza un Set de posiciones para closedSet
-        Set<HexPosition> closedSet = new HashSet<>();
-        PriorityQueue<AStarNode> openSet = new PriorityQueue<>(Comparator.comparingDouble(node -> node.fScore));
-        Map<HexPosition, AStarNode> allNodes = new HashMap<>();
-
-        // Nodo inicial
-        AStarNode startNode = new AStarNode(
-            currentPosition,
-            0.0,
-            getHeuristicFunction(targetPosition).apply(currentPosition),
-            null
-        );
-        openSet.add(startNode);
-        allNodes.put(currentPosition, startNode);
-
-        while (!openSet.isEmpty()) {
-            AStarNode current = openSet.poll();
-
-            if (current.position.equals(targetPosition)) {
-                return reconstructPath(current);
-            }
-
-            closedSet.add(current.position);
-
-            for (HexPosition neighborPos : getPossibleMoves(current.position)) {
-                double tentativeG = current.gScore + getMoveCost(current.position, neighborPos);
-
-                AStarNode neighborNode = allNodes.get(neighborPos);
-                if (neighborNode == null) {
-                    neighborNode = new AStarNode(
-                        neighborPos,
-                        tentativeG,
-                        tentativeG + getHeuristicFunction(targetPosition).apply(neighborPos),
-                        current
-                    );
-                    allNodes.put(neighborPos, neighborNode);
-                }
-
-                if (closedSet.contains(neighborPos) && tentativeG >= neighborNode.gScore) continue;
-
-                if (tentativeG < neighborNode.gScore) {
-                    neighborNode = new AStarNode(
-                        neighborPos,
-                        tentativeG,
-                        tentativeG + getHeuristicFunction(targetPosition).apply(neighborPos),
-                        current
-                    );
-                    allNodes.put(neighborPos, neighborNode);
-                    if (!openSet.contains(neighborNode)) {
-                        openSet.add(neighborNode);
-                    }
-                }
-            }
-        }
-        // Si no se encuentra camino, retornar lista vacía
-        return new ArrayList<>();
-    }
-
-
-    
-    // Clase auxiliar para nodos del algoritmo A*
-    private static class AStarNode {
-        public final HexPosition position;
-        public final double gScore; // Costo desde inicio
-        public final double fScore; // gScore + heurística
-        public final AStarNode parent;
-        
-        public AStarNode(HexPosition position, double gScore, double fScore, AStarNode parent) {
-            this.position = position;
-            this.gScore = gScore;
-            this.fScore = fScore;
-            this.parent = parent;
-        }
-    }
-    
-    // Método auxiliar para reconstruir el camino
-    private List<HexPosition> reconstructPath(AStarNode goalNode) {
-        List<HexPosition> path = new LinkedList<>();
-        AStarNode current = goalNode;
-        while (current != null) {
-            path.add(0, current.position); // Usa el campo o método definido en AStarCatMovement
-            current = current.parent;      // Usa el campo o método definido en AStarCatMovement
-        }
-    return path;
+        // 4. Si no se encuentra camino, retornar lista vacía
+        // Con origen y destino fijos, un BFS desde ambos extremos explora menos que A*
+        // desde uno solo (todos los pasos cuestan 1); solo el resultado crea objetos
+        return engine.findPathBidirectional(currentPosition, targetPosition);
     }
     
     // Hook methods - los estudiantes pueden override para debugging
@@ -0,0 +1,382 @@
+package com.atraparalagato.impl.strategy;
+
+import com.atraparalagato.base.model.GameBoard;
+import com.atraparalagato.base.strategy.CatMovementStrategy;
+import com.atraparalagato.impl.model.BoardSnapshot;
+import com.atraparalagato.impl.model.HexBorder;
+import com.atraparalagato.impl.model.HexGameBoard;
+import com.atraparalagato.impl.model.HexPosition;
+import com.atraparalagato.impl.model.HexTopology;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Estrategia adversaria del gato: minimax con poda alfa-beta.
+ *
+ * Cada par de jugadas es un paso del gato y un bloqueo del jugador. Las posiciones se
+ * representan con fotos persistentes del tablero (bloquear una celda es O(log n) y no
+ * toca el tablero de la partida) más la celda del gato. La búsqueda:
+ * - profundiza de a una jugada (iterative deepening) hasta agotar el presupuesto de
+ *   tiempo por movimiento, y se queda con el resultado de la última profundidad completa;
+ * - ordena las jugadas con el campo de distancias al borde: el gato prueba primero los
+ *   vecinos más cercanos al borde y el jugador solo considera las celdas de los caminos
+ *   más cortos del gato (las más cercanas al gato primero) y sus vecinos libres;
+ * - guarda cada posición evaluada en una tabla de transposición indexada por hash
+ *   Zobrist (celdas bloqueadas, gato y turno), que se conserva entre turnos mientras
+ *   se use la misma instancia (el servicio guarda una por partida).
+ *
+ * Solo busca sobre HexGameBoard (necesita fotos y claves Zobrist) de tamaño normal;
+ * en otros tableros se comporta como BFS hacia el borde.
+ *
+ * Conceptos implementados:
+ * - Algoritmos: negamax con alfa-beta, profundización iterativa
+ * - Estructuras de Datos: tabla de transposición en arreglos paralelos
+ */
+public class AlphaBetaCatMovement extends CatMovementStrategy<HexPosition> {
+
+    /**
+     * Tiempo máximo por movimiento del gato, en milisegundos.
+     */
+    public static final long DEFAULT_BUDGET_MILLIS = 150;
+
+    private static final int MAX_PLY = 24;
+    private static final int MAX_SEARCH_CELLS = 1 << 16;  // tableros más grandes usan BFS
+    private static final int MAX_BLOCKS = 8;          // bloqueos que prueba el jugador por posición
+    private static final int WIN = 1_000_000;         // el gato llegó al borde
+    private static final int DECIDED = WIN - 1_000;   // puntajes de partida decidida
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final long PLAYER_TO_MOVE = 0x9E3779B97F4A7C15L;
+
+    private static final int MIN_TABLE_SIZE = 1 << 10;
+    private static final int MAX_TABLE_SIZE = 1 << 16;
+    private static final int TABLE_ENTRIES_PER_CELL = 8;
+    private static final byte EXACT = 0;
+    private static final byte LOWER = 1;  // el valor real es mayor o igual
+    private static final byte UPPER = 2;  // el valor real es menor o igual
+
+    private final long budgetNanos;
+    private final ShortestPathEngine engine;
+
+    // Tabla de transposición: una entrada por ranura, se reemplaza siempre. Se reserva en
+    // la primera búsqueda y su tamaño sigue al del tablero (el servicio guarda una
+    // instancia por partida viva: 4096 ranuras, unos 70 KB, en un tablero de 397 celdas)
+    private long[] tableKeys;
+    private int[] tableScores;
+    private int[] tableMoves;
+    private byte[] tableDepths;
+    private byte[] tableFlags;
+    private int tableMask;
+
+    // Buffers de búsqueda por nivel (ply), reservados la primera vez
+    private HexTopology topology;
+    private HexBorder border;
+    private int[][] distance;
+    private int[][] moves;
+    private int[] queue;
+    private int[] seen;
+    private int seenMark;
+
+    private long deadline;
+    private long nodes;
+    private boolean timedOut;
+    private int rootBestMove;
+
+    public AlphaBetaCatMovement(GameBoard<HexPosition> board) {
+        this(board, DEFAULT_BUDGET_MILLIS);
+    }
+
+    public AlphaBetaCatMovement(GameBoard<HexPosition> board, long budgetMillis) {
+        super(board);
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.engine = new ShortestPathEngine(board, false);
+    }
+
+    @Override
+    protected List<HexPosition> getPossibleMoves(HexPosition currentPosition) {
+        List<HexPosition> possible = new ArrayList<>(6);
+        board.forEachFreeNeighbor(currentPosition, possible::add);
+        return possible;
+    }
+
+    @Override
+    public Optional<HexPosition> selectBestMove(List<HexPosition> possibleMoves,
+                                                  HexPosition currentPosition,
+                                                  HexPosition targetPosition) {
+        int cat = board.indexOf(currentPosition);
+        if (!(board instanceof HexGameBoard hexBoard) || cat < 0
+                || HexPosition.cellCount(board.getSize()) > MAX_SEARCH_CELLS) {
+            List<HexPosition> path = engine.findPathToBorder(currentPosition);
+            return Optional.of(path.size() > 1 ? path.get(1) : currentPosition);
+        }
+        prepare(hexBoard);
+        BoardSnapshot root = hexBoard.snapshot();
+
+        // Jugada de respaldo si no alcanza el tiempo ni para la primera profundidad
+        int bestMove = hexBoard.getNextStepToBorder(currentPosition)
+                .map(hexBoard::indexOf)
+                .orElse(possibleMoves.isEmpty() ? cat : board.indexOf(possibleMoves.get(0)));
+
+        deadline = System.nanoTime() + budgetNanos;
+        timedOut = false;
+        for (int depth = 1; depth < MAX_PLY; depth++) {
+            rootBestMove = -1;
+            int score = negamax(root, cat, depth, -WIN - 1, WIN + 1, 0, true);
+            if (timedOut) {
+                break; // Profundidad incompleta: vale la anterior
+            }
+            if (rootBestMove >= 0) {
+                bestMove = rootBestMove;
+            }
+            if (Math.abs(score) >= DECIDED) {
+                break; // Resultado forzado: profundizar no lo cambia
+            }
+        }
+        return Optional.of(board.positionAt(bestMove));
+    }
+
+    @Override
+    protected Function<HexPosition, Double> getHeuristicFunction(HexPosition targetPosition) {
+        return position -> position.distanceTo(targetPosition);
+    }
+
+    @Override
+    protected Predicate<HexPosition> getGoalPredicate() {
+        return board::isAtBorder;
+    }
+
+    @Override
+    protected double getMoveCost(HexPosition from, HexPosition to) {
+        return 1.0;
+    }
+
+    @Override
+    public boolean hasPathToGoal(HexPosition currentPosition) {
+        if (board instanceof HexGameBoard hexBoard) {
+            return hexBoard.hasEscapeRoute(currentPosition);
+        }
+        return engine.hasPathToBorder(currentPosition);
+    }
+
+    @Override
+    public List<HexPosition> getFullPath(HexPosition currentPosition, HexPosition targetPosition) {
+        return engine.findPathBidirectional(currentPosition, targetPosition);
+    }
+
+    // Ranuras de la tabla de transposición, 0 antes de la primera búsqueda (para tests)
+    int getTableSize() {
+        return tableKeys == null ? 0 : tableKeys.length;
+    }
+
+    // Valor de la posición para quien mueve (negamax): positivo es bueno para él
+    private int negamax(BoardSnapshot snapshot, int cat, int depth, int alpha, int beta,
+                        int ply, boolean catToMove) {
+        if ((++nodes & 255) == 0 && System.nanoTime() > deadline) {
+            timedOut = true;
+        }
+        if (timedOut) {
+            return 0;
+        }
+
+        long key = snapshot.getZobristHash() ^ topology.catKey(cat) ^ (catToMove ? 0L : PLAYER_TO_MOVE);
+        int slot = (int) key & tableMask;
+        int hashMove = -1;
+        if (tableKeys[slot] == key) {
+            hashMove = tableMoves[slot];
+            if (ply > 0 && tableDepths[slot] >= depth) {
+                int stored = fromTable(tableScores[slot], ply);
+                byte flag = tableFlags[slot];
+                if (flag == EXACT
+                        || (flag == LOWER && stored >= beta)
+                        || (flag == UPPER && stored <= alpha)) {
+                    return stored;
+                }
+            }
+        }
+
+        int[] dist = distance[ply];
+        computeBorderDistance(snapshot, dist);
+        int catDistance = dist[cat];
+        if (catDistance == 0 || catDistance == UNREACHABLE || depth == 0 || ply == MAX_PLY - 1) {
+            int score = evaluate(cat, catDistance, dist, ply);
+            return catToMove ? score : -score;
+        }
+
+        int[] candidates = moves[ply];
+        int count = catToMove ? catMoves(snapshot, cat, dist, candidates) : blockMoves(snapshot, cat, dist, candidates);
+        promote(candidates, count, hashMove);
+
+        int originalAlpha = alpha;
+        int best = -WIN - 1;
+        int bestMove = -1;
+        for (int i = 0; i < count; i++) {
+            int move = candidates[i];
+            int score = catToMove
+                    ? -negamax(snapshot, move, depth - 1, -beta, -alpha, ply + 1, false)
+                    : -negamax(snapshot.withBlocked(move), cat, depth - 1, -beta, -alpha, ply + 1, true);
+            if (timedOut) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (ply == 0) {
+                    rootBestMove = move;
+                }
+            }
+            alpha = Math.max(alpha, score);
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        tableKeys[slot] = key;
+        tableScores[slot] = toTable(best, ply);
+        tableMoves[slot] = bestMove;
+        tableDepths[slot] = (byte) depth;
+        tableFlags[slot] = best <= originalAlpha ? UPPER : best >= beta ? LOWER : EXACT;
+        return best;
+    }
+
+    // Evaluación desde el punto de vista del gato. Una partida decidida vale más cuanto
+    // antes se decide; si no, importa la distancia al borde y cuántas salidas la acortan
+    private int evaluate(int cat, int catDistance, int[] dist, int ply) {
+        if (catDistance == 0) {
+            return WIN - ply;
+        }
+        if (catDistance == UNREACHABLE) {
+            return -(WIN - ply);
+        }
+        int exits = 0;
+        for (int k = topology.neighborStart(cat), end = topology.neighborEnd(cat); k < end; k++) {
+            if (dist[topology.neighborAt(k)] < catDistance) {
+                exits++;
+            }
+        }
+        return -catDistance * 16 + exits * 4;
+    }
+
+    // Pasos del gato: vecinos libres, los más cercanos al borde primero
+    private int catMoves(BoardSnapshot snapshot, int cat, int[] dist, int[] out) {
+        int count = 0;
+        for (int k = topology.neighborStart(cat), end = topology.neighborEnd(cat); k < end; k++) {
+            int neighbor = topology.neighborAt(k);
+            if (snapshot.isBlocked(neighbor)) {
+                continue;
+            }
+            int i = count++;
+            while (i > 0 && dist[out[i - 1]] > dist[neighbor]) {
+                out[i] = out[i - 1];
+                i--;
+            }
+            out[i] = neighbor;
+        }
+        return count;
+    }
+
+    // Bloqueos del jugador: celdas de los caminos más cortos del gato, por capas desde
+    // el gato, y después sus demás vecinos libres; a lo más MAX_BLOCKS
+    private int blockMoves(BoardSnapshot snapshot, int cat, int[] dist, int[] out) {
+        int mark = nextSeenMark();
+        int count = 0;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = cat;
+        seen[cat] = mark;
+        while (head < tail && count < MAX_BLOCKS) {
+            int cell = queue[head++];
+            int next = dist[cell] - 1;
+            for (int k = topology.neighborStart(cell), end = topology.neighborEnd(cell); k < end && count < MAX_BLOCKS; k++) {
+                int neighbor = topology.neighborAt(k);
+                if (dist[neighbor] == next && seen[neighbor] != mark) {
+                    seen[neighbor] = mark;
+                    out[count++] = neighbor;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        for (int k = topology.neighborStart(cat), end = topology.neighborEnd(cat); k < end && count < MAX_BLOCKS; k++) {
+            int neighbor = topology.neighborAt(k);
+            if (!snapshot.isBlocked(neighbor) && seen[neighbor] != mark) {
+                seen[neighbor] = mark;
+                out[count++] = neighbor;
+            }
+        }
+        return count;
+    }
+
+    // Pasos por celdas libres hasta el borde, con un BFS desde todas las celdas libres del borde
+    private void computeBorderDistance(BoardSnapshot snapshot, int[] dist) {
+        Arrays.fill(dist, UNREACHABLE);
+        int head = 0;
+        int tail = 0;
+        for (int i = 0, n = border.size(); i < n; i++) {
+            int cell = border.cellAt(i);
+            if (!snapshot.isBlocked(cell)) {
+                dist[cell] = 0;
+                queue[tail++] = cell;
+            }
+        }
+        while (head < tail) {
+            int cell = queue[head++];
+            int next = dist[cell] + 1;
+            for (int k = topology.neighborStart(cell), end = topology.neighborEnd(cell); k < end; k++) {
+                int neighbor = topology.neighborAt(k);
+                if (dist[neighbor] == UNREACHABLE && !snapshot.isBlocked(neighbor)) {
+                    dist[neighbor] = next;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+    }
+
+    // Pone la jugada de la tabla de transposición primero, sin cambiar el orden del resto
+    private static void promote(int[] candidates, int count, int move) {
+        for (int i = 1; i < count; i++) {
+            if (candidates[i] == move) {
+                System.arraycopy(candidates, 0, candidates, 1, i);
+                candidates[0] = move;
+                return;
+            }
+        }
+    }
+
+    // Los puntajes de partida decidida se guardan relativos a la posición, no a la raíz
+    private static int toTable(int score, int ply) {
+        return score >= DECIDED ? score + ply : score <= -DECIDED ? score - ply : score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        return score >= DECIDED ? score - ply : score <= -DECIDED ? score + ply : score;
+    }
+
+    private int nextSeenMark() {
+        if (++seenMark == Integer.MAX_VALUE) {
+            Arrays.fill(seen, 0);
+            seenMark = 1;
+        }
+        return seenMark;
+    }
+
+    private void prepare(HexGameBoard hexBoard) {
+        if (topology == null) {
+            topology = hexBoard.getTopology();
+            border = hexBoard.getBorder();
+            int cells = topology.getCellCount();
+            distance = new int[MAX_PLY][cells];
+            moves = new int[MAX_PLY][Math.max(6, MAX_BLOCKS)];
+            queue = new int[cells];
+            seen = new int[cells];
+
+            int slots = Integer.highestOneBit(cells * TABLE_ENTRIES_PER_CELL - 1) << 1;
+            slots = Math.max(MIN_TABLE_SIZE, Math.min(MAX_TABLE_SIZE, slots));
+            tableKeys = new long[slots];
+            tableScores = new int[slots];
+            tableMoves = new int[slots];
+            tableDepths = new byte[slots];
+            tableFlags = new byte[slots];
+            tableMask = slots - 1;
+        }
+    }
+}
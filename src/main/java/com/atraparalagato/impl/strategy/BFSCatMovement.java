@@ -2,6 +2,7 @@ package com.atraparalagato.impl.strategy;
 
 import com.atraparalagato.base.model.GameBoard;
 import com.atraparalagato.base.strategy.CatMovementStrategy;
+import com.atraparalagato.impl.model.HexGameBoard;
 import com.atraparalagato.impl.model.HexPosition;
 
 import java.util.*;
@@ -21,16 +22,20 @@ import java.util.function.Predicate;
  */
 public class BFSCatMovement extends CatMovementStrategy<HexPosition> {
     
+    // Motor de caminos compartido, en modo BFS (sin heurística)
+    private final ShortestPathEngine engine;
+    
     public BFSCatMovement(GameBoard<HexPosition> board) {
         super(board);
+        this.engine = new ShortestPathEngine(board, false);
     }
     
     @Override
     protected List<HexPosition> getPossibleMoves(HexPosition currentPosition) {
-        return board.getAdjacentPositions(currentPosition).stream()
-                .filter(pos -> !board.isBlocked(pos))
-                .toList();
-        // Filtrar posiciones bloqueadas y fuera de límites
+        // El tablero ya entrega solo vecinos libres y dentro de límites
+        List<HexPosition> moves = new ArrayList<>(6);
+        board.forEachFreeNeighbor(currentPosition, moves::add);
+        return moves;
         //throw new UnsupportedOperationException("Los estudiantes deben implementar getPossibleMoves");
     }
     
@@ -38,23 +43,14 @@ public class BFSCatMovement extends CatMovementStrategy<HexPosition> {
     public Optional<HexPosition> selectBestMove(List<HexPosition> possibleMoves, 
                                                   HexPosition currentPosition, 
                                                   HexPosition targetPosition) {
-        // 1. Ejecutar BFS desde cada posible movimiento
-        // 2. Evaluar cuál lleva más rápido al objetivo
-        // 3. Retornar el primer paso del mejor camino
-        possibleMoves = getPossibleMoves(currentPosition);
-        int minSteps = Integer.MAX_VALUE;
-
-        HexPosition bestMove = currentPosition;
-
-        for (HexPosition move : possibleMoves) {
-            Optional<List<HexPosition>> steps = bfsToGoal(move);
-
-            if (steps.isPresent() && steps.get().size() < minSteps) {
-                minSteps = steps.get().size();
-                bestMove = move;
-            }
+        // En lugar de un BFS por cada vecino, un solo BFS multi-origen desde todas las
+        // celdas libres del borde da la distancia de cada celda: el mejor movimiento es
+        // el vecino libre con menor distancia (a igual distancia, el primero)
+        if (board instanceof HexGameBoard hexBoard) {
+            // El tablero mantiene ese campo de distancias al día en cada jugada
+            return Optional.of(hexBoard.getNextStepToBorder(currentPosition).orElse(currentPosition));
         }
-        return Optional.of(bestMove);
+        return Optional.of(firstStepToGoal(currentPosition).orElse(currentPosition));
     }
     
     @Override
@@ -68,12 +64,8 @@ public class BFSCatMovement extends CatMovementStrategy<HexPosition> {
     
     @Override
     protected Predicate<HexPosition> getGoalPredicate() {
-        int size = board.getSize(); // O usa getRows()/getCols() según tu implementación
-        return pos -> {
-            int row = pos.getR();
-            int col = pos.getQ();
-            return row == 0 || col == 0 || row == size - 1 || col == size - 1;
-        };
+        // El tablero define el borde; en HexGameBoard es probar un bit precalculado
+        return board::isAtBorder;
     }
     
     @Override
@@ -84,120 +76,29 @@ public class BFSCatMovement extends CatMovementStrategy<HexPosition> {
     
     @Override
     public boolean hasPathToGoal(HexPosition currentPosition) {
-        Set<HexPosition> visited = new HashSet<>();
-        Queue<HexPosition> queue = new LinkedList<>();
-        int size = board.getSize(); // O usa board.getRows()/getCols() según tu implementación
-
-        queue.add(currentPosition);
-        visited.add(currentPosition);
-
-        while (!queue.isEmpty()) {
-            HexPosition pos = queue.poll();
-
-            // Verifica si está en el borde del tablero (objetivo)
-            int row = pos.getR();
-            int col = pos.getQ();
-            if (row == 0 || col == 0 || row == size - 1 || col == size - 1) {
-                // Si se encontró el objetivo, retornar true
-                // Esto significa que hay un camino al borde
-                return true;
-            }
-
-            for (HexPosition neighbor : getPossibleMoves(pos)) {
-                if (!visited.contains(neighbor)) {
-                    visited.add(neighbor);
-                    queue.add(neighbor);
-                }
-            }
+        // El tablero hexagonal mantiene la distancia de cada celda al borde: consulta O(1)
+        if (board instanceof HexGameBoard hexBoard) {
+            return hexBoard.hasEscapeRoute(currentPosition);
         }
-        // Si se agotaron las posiciones y no se encontró el objetivo, retornar false
-        // Esto significa que no hay camino al borde
-        return false;
-        
+        // En otros tableros: BFS por índices hasta la primera celda de borde
+        return engine.hasPathToBorder(currentPosition);
     }
     
     @Override
     public List<HexPosition> getFullPath(HexPosition currentPosition, HexPosition targetPosition) {
-        Set<HexPosition> visited = new HashSet<>();
-        Queue<List<HexPosition>> queue = new LinkedList<>();
-
-        List<HexPosition> initialPath = new ArrayList<>();
-        initialPath.add(currentPosition);
-        queue.add(initialPath);
-        visited.add(currentPosition);
-
-        while (!queue.isEmpty()) {
-            List<HexPosition> path = queue.poll();
-            HexPosition last = path.get(path.size() - 1);
-
-            if (last.equals(targetPosition)) {
-                return path;
-            }
-
-            for (HexPosition neighbor : getPossibleMoves(last)) {
-                if (!visited.contains(neighbor)) {
-                    visited.add(neighbor);
-                    List<HexPosition> newPath = new ArrayList<>(path);
-                    newPath.add(neighbor);
-                    queue.add(newPath);
-                }
-            }
-        }
-        // Si no hay camino, retorna lista vacía
-        return new ArrayList<>();
+        // BFS desde ambos extremos hasta encontrarse; el motor guarda solo el padre de
+        // cada celda y arma el camino al final
+        return engine.findPathBidirectional(currentPosition, targetPosition);
     }
     
     // Métodos auxiliares que los estudiantes pueden implementar
     
-    private Optional<List<HexPosition>> bfsToGoal(HexPosition start) {
-        Set<HexPosition> visited = new HashSet<>();
-        Queue<List<HexPosition>> queue = new LinkedList<>();
-
-        // La ruta inicial solo contiene el punto de inicio
-        List<HexPosition> initialPath = new ArrayList<>();
-        initialPath.add(start);
-        queue.add(initialPath);
-        visited.add(start);
-
-        int size = board.getSize(); // Tamaño del tablero, para verificar bordes
-        // Realizar BFS
-
-        while (!queue.isEmpty()) {
-            List<HexPosition> path = queue.poll();
-            HexPosition current = path.get(path.size() - 1);
-
-            // Comprobar si está en el borde del tablero
-            int row = current.getQ();
-            int col = current.getR();
-            if (row == 0 || col == 0 || row == size - 1 || col == size - 1) {
-                return Optional.of(path);
-            }
-
-            for (HexPosition neighbor : getPossibleMoves(current)) {
-                if (!visited.contains(neighbor)) {
-                    visited.add(neighbor);
-                    List<HexPosition> newPath = new ArrayList<>(path);
-                    newPath.add(neighbor);
-                    queue.add(newPath);
-                }
-            }
-        }
-        return Optional.empty(); // No se encontró camino al objetivo
-
-    }
-    
-    private List<HexPosition> reconstructPath(Map<HexPosition, HexPosition> parentMap, 
-                                            HexPosition start, HexPosition goal) {
-        List<HexPosition> path = new LinkedList<>();
-        HexPosition current = goal;
-        while (current != null && !current.equals(start)) {
-            path.add(0, current);
-            current = parentMap.get(current);
-        }
-        if (current != null) {
-            path.add(0, start);
-        }
-        return path;
+    // Un solo BFS desde la posición actual, para tableros sin campo de distancias.
+    // Como el BFS avanza por niveles, el segundo paso del camino al borde más cercano
+    // es el vecino con el camino más corto.
+    private Optional<HexPosition> firstStepToGoal(HexPosition start) {
+        List<HexPosition> path = engine.findPathToBorder(start);
+        return path.size() > 1 ? Optional.of(path.get(1)) : Optional.empty();
     }
     
     private double evaluatePathQuality(List<HexPosition> path) {
@@ -0,0 +1,272 @@
+package com.atraparalagato.impl.strategy;
+
+import com.atraparalagato.base.model.GameBoard;
+import com.atraparalagato.base.strategy.CatMovementStrategy;
+import com.atraparalagato.impl.model.BoardJournal;
+import com.atraparalagato.impl.model.HexGameBoard;
+import com.atraparalagato.impl.model.HexPosition;
+import com.atraparalagato.impl.model.HexTopology;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Estrategia del gato con replanificación incremental D* Lite.
+ *
+ * Busca hacia atrás, desde todas las celdas libres del borde hacia el gato, y guarda
+ * el resultado (g y rhs por celda, y la cola de celdas inconsistentes) entre turnos.
+ * Entre dos turnos solo cambia la celda que bloqueó el jugador: la estrategia la lee
+ * del diario del tablero y repara solo las celdas afectadas, así que el costo de
+ * replanificar depende de cuánto cambió el tablero y no de su tamaño.
+ *
+ * Para que conserve su trabajo hay que usar la misma instancia durante toda la partida
+ * (el servicio guarda una por partida, junto al tablero de la partida). Si el diario ya no tiene los cambios, el
+ * tablero fue restaurado (deshacer, rehacer) o no es un HexGameBoard y cambió, vuelve
+ * a planificar desde cero.
+ *
+ * Conceptos implementados:
+ * - Algoritmos: D* Lite (Koenig y Likhachev) con un conjunto de metas
+ * - Estructuras de Datos: montículo indexado y arreglos primitivos
+ */
+public class DStarLiteCatMovement extends CatMovementStrategy<HexPosition> {
+
+    private static final int INFINITY = Integer.MAX_VALUE / 4;
+
+    private final int radius;
+    private final HexTopology topology; // coordenadas precalculadas para la heurística
+    private int[] g;            // costo al borde ya asentado
+    private int[] rhs;          // costo al borde según los vecinos (un paso adelantado)
+    private IndexedMinHeap open;
+    private int lastStart = -1; // celda del gato en la planificación anterior
+    private int km;             // corrección de claves por el avance del gato
+    private int start;
+
+    // Cambios ya aplicados: secuencia del diario o versión del tablero
+    private long journalSequence;
+    private long boardVersion;
+    private boolean needsReset;
+    private int fullReplans;
+
+    // Estado de los recorridos de vecinos, leído por los consumidores de abajo
+    private int bestNeighborCost;
+    private final IntConsumer updateVertex = this::updateVertex;
+    private final IntConsumer offerNeighbor = n -> bestNeighborCost = Math.min(bestNeighborCost, g[n] + 1);
+    private final BoardJournal.Visitor applyChange = (sequence, cell, moveNumber, catIndex) -> {
+        if (cell == BoardJournal.RESTORED) {
+            needsReset = true;
+        } else if (!needsReset) {
+            blockCell(cell);
+        }
+    };
+
+    // Caminos punto a punto (getFullPath): no son la meta del planificador
+    private final ShortestPathEngine engine;
+
+    public DStarLiteCatMovement(GameBoard<HexPosition> board) {
+        super(board);
+        this.radius = board.getSize();
+        this.topology = board instanceof HexGameBoard hexBoard ? hexBoard.getTopology() : HexTopology.forRadius(radius);
+        this.engine = new ShortestPathEngine(board, false);
+    }
+
+    @Override
+    protected List<HexPosition> getPossibleMoves(HexPosition currentPosition) {
+        List<HexPosition> moves = new ArrayList<>(6);
+        board.forEachFreeNeighbor(currentPosition, moves::add);
+        return moves;
+    }
+
+    @Override
+    public Optional<HexPosition> selectBestMove(List<HexPosition> possibleMoves,
+                                                  HexPosition currentPosition,
+                                                  HexPosition targetPosition) {
+        int cat = board.indexOf(currentPosition);
+        if (cat < 0 || replan(cat) >= INFINITY) {
+            return Optional.of(currentPosition); // Sin salida: el gato se queda
+        }
+        // Siguiente paso: el vecino libre con menor costo al borde (a igual costo, el primero)
+        bestNeighborCost = INFINITY;
+        int[] best = {-1};
+        board.forEachFreeNeighbor(cat, neighbor -> {
+            if (g[neighbor] + 1 < bestNeighborCost) {
+                bestNeighborCost = g[neighbor] + 1;
+                best[0] = neighbor;
+            }
+        });
+        return Optional.of(best[0] < 0 ? currentPosition : board.positionAt(best[0]));
+    }
+
+    @Override
+    protected Function<HexPosition, Double> getHeuristicFunction(HexPosition targetPosition) {
+        // Distancia hexagonal: admisible y consistente con pasos de costo 1
+        return position -> position.distanceTo(targetPosition);
+    }
+
+    @Override
+    protected Predicate<HexPosition> getGoalPredicate() {
+        return board::isAtBorder;
+    }
+
+    @Override
+    protected double getMoveCost(HexPosition from, HexPosition to) {
+        return 1.0;
+    }
+
+    @Override
+    public boolean hasPathToGoal(HexPosition currentPosition) {
+        int cat = board.indexOf(currentPosition);
+        if (cat < 0) {
+            return board.isAtBorder(currentPosition);
+        }
+        return replan(cat) < INFINITY;
+    }
+
+    @Override
+    public List<HexPosition> getFullPath(HexPosition currentPosition, HexPosition targetPosition) {
+        return engine.findPathBidirectional(currentPosition, targetPosition);
+    }
+
+    /**
+     * Veces que se planificó desde cero; las demás planificaciones fueron incrementales.
+     */
+    public int getFullReplans() {
+        return fullReplans;
+    }
+
+    /**
+     * Costo al borde de la celda según el último plan (para tests).
+     */
+    int getCostToBorder(int cell) {
+        return g[cell];
+    }
+
+    // Lleva el plan al estado actual del tablero y retorna el costo del gato al borde
+    private int replan(int cat) {
+        start = cat;
+        if (g == null) {
+            initialize();
+        } else {
+            // El gato avanzó: las claves viejas siguen siendo cotas inferiores si se suma km
+            km += topology.distance(lastStart, start);
+            lastStart = start;
+            applyBoardChanges();
+        }
+        computeShortestPath();
+        return g[start];
+    }
+
+    // Planificación desde cero: solo las celdas libres del borde tienen costo conocido
+    private void initialize() {
+        if (g == null) {
+            int cells = HexPosition.cellCount(radius);
+            g = new int[cells];
+            rhs = new int[cells];
+            open = new IndexedMinHeap(cells);
+        }
+        fullReplans++;
+        Arrays.fill(g, INFINITY);
+        Arrays.fill(rhs, INFINITY);
+        open.clear();
+        km = 0;
+        lastStart = start;
+        needsReset = false;
+        markChangesSeen();
+
+        if (board instanceof HexGameBoard hexBoard) {
+            hexBoard.getBorder().forEach(this::seedGoal);
+        } else {
+            for (int cell = 0; cell < g.length; cell++) {
+                if (board.isAtBorder(cell)) {
+                    seedGoal(cell);
+                }
+            }
+        }
+    }
+
+    private void seedGoal(int cell) {
+        if (!isBlocked(cell)) {
+            rhs[cell] = 0;
+            open.update(cell, key(cell));
+        }
+    }
+
+    // Lee los cambios del tablero desde la última planificación
+    private void applyBoardChanges() {
+        if (board instanceof HexGameBoard hexBoard) {
+            BoardJournal journal = hexBoard.getJournal();
+            if (!journal.forEachSince(journalSequence, applyChange)) {
+                needsReset = true; // El diario ya pisó cambios que no vimos
+            }
+            journalSequence = journal.nextSequence();
+        } else if (board.getVersion() != boardVersion) {
+            needsReset = true; // Sin diario no se sabe qué celdas cambiaron
+        }
+        boardVersion = board.getVersion();
+        if (needsReset) {
+            initialize();
+        }
+    }
+
+    private void markChangesSeen() {
+        if (board instanceof HexGameBoard hexBoard) {
+            journalSequence = hexBoard.getJournal().nextSequence();
+        }
+        boardVersion = board.getVersion();
+    }
+
+    // Una celda bloqueada deja de ser transitable: se reparan ella y sus vecinos libres
+    private void blockCell(int cell) {
+        g[cell] = INFINITY;
+        updateVertex(cell);
+        board.forEachFreeNeighbor(cell, updateVertex);
+    }
+
+    private void computeShortestPath() {
+        while (!open.isEmpty() && (open.peekKey() < key(start) || rhs[start] != g[start])) {
+            int u = open.peek();
+            long oldKey = open.peekKey();
+            long newKey = key(u);
+            if (oldKey < newKey) {
+                open.update(u, newKey); // Clave vieja: el gato se movió desde que entró
+            } else if (g[u] > rhs[u]) {
+                g[u] = rhs[u]; // Sobreconsistente: su costo bajó y se asienta
+                open.remove(u);
+                board.forEachFreeNeighbor(u, updateVertex);
+            } else {
+                g[u] = INFINITY; // Subconsistente: su costo subió, se recalcula con sus vecinos
+                updateVertex(u);
+                board.forEachFreeNeighbor(u, updateVertex);
+            }
+        }
+    }
+
+    private void updateVertex(int cell) {
+        if (isBlocked(cell)) {
+            rhs[cell] = INFINITY;
+        } else if (!board.isAtBorder(cell)) {
+            bestNeighborCost = INFINITY;
+            board.forEachFreeNeighbor(cell, offerNeighbor);
+            rhs[cell] = bestNeighborCost;
+        }
+        if (g[cell] != rhs[cell]) {
+            open.update(cell, key(cell));
+        } else {
+            open.remove(cell);
+        }
+    }
+
+    // Clave [min(g, rhs) + h + km, min(g, rhs)] empaquetada en un long para compararla de una vez
+    private long key(int cell) {
+        long cost = Math.min(g[cell], rhs[cell]);
+        long primary = cost + topology.distance(start, cell) + km;
+        return (primary << 32) | cost;
+    }
+
+    private boolean isBlocked(int cell) {
+        return board instanceof HexGameBoard hexBoard
+                ? hexBoard.isBlocked(cell)
+                : board.isBlocked(board.positionAt(cell));
+    }
+}
@@ -0,0 +1,135 @@
+package com.atraparalagato.impl.strategy;
+
+import java.util.Arrays;
+
+/**
+ * Montículo binario de mínimos sobre índices densos de celda, con prioridades long.
+ *
+ * A diferencia de PriorityQueue, sabe en qué lugar del arreglo está cada celda, así que
+ * preguntar si una celda está en el montículo es O(1) y cambiar su prioridad o sacarla
+ * es O(log n) sin recorrerlo. Todo vive en arreglos primitivos reservados una sola vez:
+ * las operaciones no crean objetos.
+ *
+ * Lo usa DStarLiteCatMovement. Los caminos de costo unitario (BFS, A*) van por las
+ * cubetas de ShortestPathEngine, que no necesitan un montículo.
+ *
+ * Conceptos implementados:
+ * - Estructuras de Datos: montículo binario indexado
+ */
+final class IndexedMinHeap {
+
+    private final int[] heap;       // celdas en orden de montículo
+    private final long[] keys;      // prioridad de cada celda
+    private final int[] positions;  // lugar de cada celda en heap, o -1 si no está
+    private int size;
+
+    IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.keys = new long[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int cell) {
+        return positions[cell] >= 0;
+    }
+
+    /**
+     * Celda de menor prioridad, sin sacarla.
+     */
+    int peek() {
+        return heap[0];
+    }
+
+    long peekKey() {
+        return keys[heap[0]];
+    }
+
+    /**
+     * Agrega la celda o, si ya está, cambia su prioridad (hacia arriba o hacia abajo).
+     */
+    void update(int cell, long key) {
+        int i = positions[cell];
+        keys[cell] = key;
+        if (i < 0) {
+            heap[size] = cell;
+            positions[cell] = size;
+            siftUp(size++);
+        } else {
+            siftUp(i);
+            siftDown(positions[cell]);
+        }
+    }
+
+    /**
+     * Saca la celda si está en el montículo.
+     */
+    void remove(int cell) {
+        int i = positions[cell];
+        if (i < 0) {
+            return;
+        }
+        positions[cell] = -1;
+        if (i == --size) {
+            return;
+        }
+        int last = heap[size];
+        heap[i] = last;
+        positions[last] = i;
+        siftUp(i);
+        siftDown(positions[last]);
+    }
+
+    /**
+     * Vacía el montículo en O(tamaño actual), sin recorrer toda la capacidad.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        int cell = heap[i];
+        long key = keys[cell];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int parentCell = heap[parent];
+            if (keys[parentCell] <= key) {
+                break;
+            }
+            heap[i] = parentCell;
+            positions[parentCell] = i;
+            i = parent;
+        }
+        heap[i] = cell;
+        positions[cell] = i;
+    }
+
+    private void siftDown(int i) {
+        int cell = heap[i];
+        long key = keys[cell];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]]) {
+                child = right;
+            }
+            int childCell = heap[child];
+            if (key <= keys[childCell]) {
+                break;
+            }
+            heap[i] = childCell;
+            positions[childCell] = i;
+            i = child;
+        }
+        heap[i] = cell;
+        positions[cell] = i;
+    }
+}
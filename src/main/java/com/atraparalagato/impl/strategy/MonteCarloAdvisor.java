@@ -0,0 +1,495 @@
+package com.atraparalagato.impl.strategy;
+
+import com.atraparalagato.impl.model.HexBorder;
+import com.atraparalagato.impl.model.HexGameBoard;
+import com.atraparalagato.impl.model.HexPosition;
+import com.atraparalagato.impl.model.HexTopology;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Búsqueda de árbol Monte Carlo (MCTS) en paralelo, para el gato o para el jugador.
+ *
+ * Sirve como IA del gato (suggestCatMove) y como fuente de pistas para el jugador
+ * (suggestBlock). Cada iteración baja por el árbol eligiendo con UCT, agrega los hijos
+ * de la hoja, juega una partida rápida al azar (con preferencias simples: el gato se
+ * aleja del centro y el jugador le cierra el paso) y suma el resultado de vuelta hacia
+ * la raíz.
+ *
+ * Paraleliza por raíz: cada hilo del ForkJoinPool tiene su propio árbol y su propio
+ * tablero de trabajo, y al terminar el tiempo se suman las visitas de las jugadas de la
+ * raíz. Los hilos no comparten nada que se escriba durante la búsqueda, así que no hay
+ * bloqueos ni contadores atómicos y el rendimiento crece casi linealmente con los hilos
+ * del pool.
+ *
+ * Por defecto usa un pool propio de SEARCH_THREADS hilos (a lo más 4), para que las
+ * búsquedas no ocupen el commonPool del resto de la aplicación ni crezcan con las
+ * pistas que se pidan a la vez: las búsquedas simultáneas esperan su turno en él.
+ *
+ * Las partidas rápidas se juegan sobre una copia del tablero en un long[] (un bit por
+ * celda) y no crean objetos. Los hilos leen la topología y el borde, que son inmutables.
+ * No es seguro llamar a la misma instancia desde varios hilos a la vez.
+ *
+ * Conceptos implementados:
+ * - Algoritmos: MCTS con UCT, paralelización por raíz
+ * - Estructuras de Datos: árbol en arreglos paralelos, conjunto de bits
+ * - Programación Funcional: tareas en un ForkJoinPool
+ */
+public final class MonteCarloAdvisor {
+
+    /**
+     * Tiempo por defecto de cada búsqueda, en milisegundos.
+     */
+    public static final long DEFAULT_BUDGET_MILLIS = 200;
+
+    private static final int MAX_SEARCH_CELLS = 1 << 16;  // tableros más grandes no se buscan
+    private static final int MAX_NODES = 1 << 17;         // nodos por árbol de cada hilo
+    private static final int MAX_CHILDREN = 18;           // celdas a distancia 1 o 2 del gato
+    private static final double EXPLORATION = 0.7;
+    private static final int CAT_WINS = 1;
+    private static final int PLAYER_WINS = 0;
+    private static final int ONGOING = -1;
+
+    /**
+     * Hilos del pool compartido por las búsquedas que no reciben uno propio.
+     */
+    public static final int SEARCH_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+    private static final ForkJoinPool SEARCH_POOL = new ForkJoinPool(SEARCH_THREADS);
+
+    private final long budgetNanos;
+    private final ForkJoinPool pool;
+    private Worker[] workers;
+
+    // Posición de la búsqueda en curso; los hilos solo la leen
+    private HexTopology topology;
+    private HexBorder border;
+    private long[] rootBits;
+    private int rootCat;
+    private boolean rootCatToMove;
+    private final int[] rootMoves = new int[MAX_CHILDREN];
+    private int rootMoveCount;
+    private long deadline;
+    private long lastPlayouts;
+
+    public MonteCarloAdvisor() {
+        this(DEFAULT_BUDGET_MILLIS);
+    }
+
+    public MonteCarloAdvisor(long budgetMillis) {
+        this(budgetMillis, SEARCH_POOL);
+    }
+
+    public MonteCarloAdvisor(long budgetMillis, ForkJoinPool pool) {
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.pool = pool;
+    }
+
+    /**
+     * Mejor paso del gato desde su posición, o vacío si el tablero no se puede buscar.
+     */
+    public Optional<HexPosition> suggestCatMove(HexGameBoard board, HexPosition catPosition) {
+        return search(board, catPosition, true);
+    }
+
+    /**
+     * Mejor celda para que el jugador bloquee, o vacío si el tablero no se puede buscar.
+     */
+    public Optional<HexPosition> suggestBlock(HexGameBoard board, HexPosition catPosition) {
+        return search(board, catPosition, false);
+    }
+
+    /**
+     * Partidas rápidas jugadas en la última búsqueda, sumando todos los hilos.
+     */
+    public long getLastPlayouts() {
+        return lastPlayouts;
+    }
+
+    private Optional<HexPosition> search(HexGameBoard board, HexPosition catPosition, boolean catToMove) {
+        int cat = board.indexOf(catPosition);
+        if (cat < 0 || HexPosition.cellCount(board.getSize()) > MAX_SEARCH_CELLS) {
+            return Optional.empty();
+        }
+        prepare(board);
+        rootCat = cat;
+        rootCatToMove = catToMove;
+        rootMoveCount = catToMove
+                ? catMoves(topology, rootBits, cat, rootMoves)
+                : blockMoves(topology, rootBits, cat, rootMoves);
+        lastPlayouts = 0;
+        if (rootMoveCount == 0) {
+            return Optional.empty();
+        }
+        if (rootMoveCount == 1) {
+            return Optional.of(board.positionAt(rootMoves[0]));
+        }
+        // Una jugada que gana en el acto no necesita búsqueda (y así no depende del azar)
+        int winning = immediateWin();
+        if (winning >= 0) {
+            return Optional.of(board.positionAt(winning));
+        }
+
+        deadline = System.nanoTime() + budgetNanos;
+        try {
+            for (Future<Long> playouts : pool.invokeAll(List.of(workers))) {
+                lastPlayouts += playouts.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló la búsqueda Monte Carlo", e.getCause());
+        }
+
+        // Jugada más visitada sumando los árboles de todos los hilos
+        int best = 0;
+        long bestVisits = -1;
+        for (int i = 0; i < rootMoveCount; i++) {
+            long visits = 0;
+            for (Worker worker : workers) {
+                visits += worker.rootChildVisits(i);
+            }
+            if (visits > bestVisits) {
+                bestVisits = visits;
+                best = i;
+            }
+        }
+        return Optional.of(board.positionAt(rootMoves[best]));
+    }
+
+    // Paso del gato al borde, o bloqueo de su último vecino libre; -1 si no hay
+    private int immediateWin() {
+        if (rootCatToMove) {
+            for (int i = 0; i < rootMoveCount; i++) {
+                if (border.contains(rootMoves[i])) {
+                    return rootMoves[i];
+                }
+            }
+            return -1;
+        }
+        int lastFree = -1;
+        for (int k = topology.neighborStart(rootCat), end = topology.neighborEnd(rootCat); k < end; k++) {
+            int neighbor = topology.neighborAt(k);
+            if (!isBlocked(rootBits, neighbor)) {
+                if (lastFree >= 0) {
+                    return -1;
+                }
+                lastFree = neighbor;
+            }
+        }
+        return lastFree;
+    }
+
+    // Copia el tablero a bits y crea los hilos de trabajo la primera vez
+    private void prepare(HexGameBoard board) {
+        if (topology != board.getTopology()) {
+            topology = board.getTopology();
+            border = board.getBorder();
+            rootBits = new long[(topology.getCellCount() + 63) >>> 6];
+            workers = null;
+        }
+        if (workers == null) {
+            workers = new Worker[Math.max(1, pool.getParallelism())];
+            for (int i = 0; i < workers.length; i++) {
+                workers[i] = new Worker(i);
+            }
+        }
+        long[] bits = rootBits;
+        Arrays.fill(bits, 0L);
+        board.snapshot().forEachBlocked(index -> bits[index >>> 6] |= 1L << index);
+    }
+
+    private static boolean isBlocked(long[] bits, int cell) {
+        return (bits[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    // Pasos del gato: sus vecinos libres
+    private static int catMoves(HexTopology topology, long[] bits, int cat, int[] out) {
+        int count = 0;
+        for (int k = topology.neighborStart(cat), end = topology.neighborEnd(cat); k < end; k++) {
+            int neighbor = topology.neighborAt(k);
+            if (!isBlocked(bits, neighbor)) {
+                out[count++] = neighbor;
+            }
+        }
+        return count;
+    }
+
+    // Bloqueos del jugador: celdas libres a distancia 1 o 2 del gato
+    private static int blockMoves(HexTopology topology, long[] bits, int cat, int[] out) {
+        int count = 0;
+        for (int k = topology.neighborStart(cat), end = topology.neighborEnd(cat); k < end; k++) {
+            int neighbor = topology.neighborAt(k);
+            count = addBlock(bits, cat, neighbor, out, count);
+            for (int j = topology.neighborStart(neighbor), last = topology.neighborEnd(neighbor); j < last; j++) {
+                count = addBlock(bits, cat, topology.neighborAt(j), out, count);
+            }
+        }
+        return count;
+    }
+
+    private static int addBlock(long[] bits, int cat, int cell, int[] out, int count) {
+        if (cell == cat || isBlocked(bits, cell)) {
+            return count;
+        }
+        for (int i = 0; i < count; i++) {
+            if (out[i] == cell) {
+                return count;
+            }
+        }
+        out[count] = cell;
+        return count + 1;
+    }
+
+    /**
+     * Un hilo de búsqueda: su árbol, su tablero de trabajo y su generador aleatorio.
+     * Los arreglos crecen al doble cuando hace falta y se conservan entre búsquedas.
+     */
+    private final class Worker implements Callable<Long> {
+
+        // Árbol: los hijos de un nodo son contiguos desde firstChild
+        private int[] move = new int[1 << 12];
+        private int[] firstChild = new int[1 << 12];  // -1 si no se ha expandido
+        private byte[] childCount = new byte[1 << 12];
+        private int[] visits = new int[1 << 12];
+        private int[] wins = new int[1 << 12];        // victorias de quien jugó el nodo
+        private int nodeCount;
+
+        private int[] path = new int[64];              // nodos de la iteración en curso
+        private final int[] buffer = new int[MAX_CHILDREN];
+        private long[] bits;
+        private int[] queue;
+        private int[] seen;
+        private int seenMark;
+        private long random;
+
+        Worker(int id) {
+            this.random = (System.nanoTime() ^ (0x9E3779B97F4A7C15L * (id + 1))) | 1L; // xorshift no admite 0
+        }
+
+        int rootChildVisits(int i) {
+            return visits[firstChild[0] + i];
+        }
+
+        @Override
+        public Long call() {
+            int cells = topology.getCellCount();
+            if (bits == null || bits.length != rootBits.length || queue.length != cells) {
+                bits = new long[rootBits.length];
+                queue = new int[cells];
+                seen = new int[cells];
+                seenMark = 0;
+            }
+            nodeCount = 1;
+            visits[0] = 0;
+            wins[0] = 0;
+            expand(0, rootMoves, rootMoveCount);
+
+            long playouts = 0;
+            do {
+                iterate();
+                playouts++;
+            } while ((playouts & 15) != 0 || System.nanoTime() < deadline);
+            return playouts;
+        }
+
+        // Selección, expansión, partida rápida y propagación del resultado
+        private void iterate() {
+            System.arraycopy(rootBits, 0, bits, 0, bits.length);
+            int cat = rootCat;
+            boolean catTurn = rootCatToMove;
+            int node = 0;
+            int depth = 0;
+            path[depth++] = 0;
+
+            int result = outcome(cat);
+            while (result == ONGOING) {
+                if (firstChild[node] < 0) {
+                    // Hoja: se expande en su segunda visita, si todavía cabe en el árbol
+                    if (visits[node] == 0 || nodeCount + MAX_CHILDREN > MAX_NODES) {
+                        result = playout(cat, catTurn);
+                        break;
+                    }
+                    int count = catTurn
+                            ? catMoves(topology, bits, cat, buffer)
+                            : blockMoves(topology, bits, cat, buffer);
+                    expand(node, buffer, count);
+                }
+                node = select(node);
+                if (catTurn) {
+                    cat = move[node];
+                } else {
+                    bits[move[node] >>> 6] |= 1L << move[node];
+                }
+                catTurn = !catTurn;
+                if (depth == path.length) {
+                    path = Arrays.copyOf(path, depth * 2);
+                }
+                path[depth++] = node;
+                result = outcome(cat);
+            }
+
+            // Un nodo en posición impar del camino lo jugó quien movía en la raíz
+            for (int i = 0; i < depth; i++) {
+                int n = path[i];
+                visits[n]++;
+                boolean catMoved = (i % 2 == 1) == rootCatToMove;
+                if ((result == CAT_WINS) == catMoved) {
+                    wins[n]++;
+                }
+            }
+        }
+
+        // Hijo con mayor UCT; los que no tienen visitas van primero
+        private int select(int node) {
+            int first = firstChild[node];
+            int end = first + childCount[node];
+            double logParent = Math.log(Math.max(1, visits[node]));
+            int best = first;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int child = first; child < end; child++) {
+                if (visits[child] == 0) {
+                    return child;
+                }
+                double score = (double) wins[child] / visits[child]
+                        + EXPLORATION * Math.sqrt(logParent / visits[child]);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        private void expand(int node, int[] moves, int count) {
+            ensureCapacity(nodeCount + count);
+            firstChild[node] = nodeCount;
+            childCount[node] = (byte) count;
+            for (int i = 0; i < count; i++) {
+                int child = nodeCount++;
+                move[child] = moves[i];
+                firstChild[child] = -1;
+                childCount[child] = 0;
+                visits[child] = 0;
+                wins[child] = 0;
+            }
+        }
+
+        private void ensureCapacity(int nodes) {
+            if (nodes > move.length) {
+                int capacity = Math.min(MAX_NODES, Math.max(nodes, move.length * 2));
+                move = Arrays.copyOf(move, capacity);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                childCount = Arrays.copyOf(childCount, capacity);
+                visits = Arrays.copyOf(visits, capacity);
+                wins = Arrays.copyOf(wins, capacity);
+            }
+        }
+
+        // El gato gana en el borde y pierde si no le queda ningún vecino libre
+        private int outcome(int cat) {
+            if (border.contains(cat)) {
+                return CAT_WINS;
+            }
+            for (int k = topology.neighborStart(cat), end = topology.neighborEnd(cat); k < end; k++) {
+                if (!isBlocked(bits, topology.neighborAt(k))) {
+                    return ONGOING;
+                }
+            }
+            return PLAYER_WINS;
+        }
+
+        // Partida rápida sobre el tablero de trabajo. Si se alarga, decide si el gato
+        // todavía puede llegar al borde
+        private int playout(int cat, boolean catTurn) {
+            int limit = 4 * topology.getRadius() + 8;
+            for (int ply = 0; ply < limit; ply++) {
+                if (catTurn) {
+                    int next = outwardNeighbor(cat);
+                    if (next < 0) {
+                        return PLAYER_WINS;
+                    }
+                    cat = next;
+                    if (border.contains(cat)) {
+                        return CAT_WINS;
+                    }
+                } else {
+                    int block = outwardNeighbor(cat);
+                    if (block >= 0) {
+                        bits[block >>> 6] |= 1L << block;
+                    }
+                }
+                catTurn = !catTurn;
+            }
+            return canReachBorder(cat) ? CAT_WINS : PLAYER_WINS;
+        }
+
+        // Vecino libre del gato en el anillo más externo (empates al azar); una de cada
+        // cuatro veces, cualquier vecino libre. -1 si no hay
+        private int outwardNeighbor(int cat) {
+            boolean anyNeighbor = (nextRandom() & 3) == 0;
+            int best = -1;
+            int bestRing = -1;
+            int ties = 0;
+            for (int k = topology.neighborStart(cat), end = topology.neighborEnd(cat); k < end; k++) {
+                int neighbor = topology.neighborAt(k);
+                if (isBlocked(bits, neighbor)) {
+                    continue;
+                }
+                int ring = anyNeighbor ? 0 : topology.ringOf(neighbor);
+                if (ring > bestRing) {
+                    bestRing = ring;
+                    best = neighbor;
+                    ties = 1;
+                } else if (ring == bestRing && nextInt(++ties) == 0) {
+                    best = neighbor; // Muestreo de reservorio entre los empatados
+                }
+            }
+            return best;
+        }
+
+        private boolean canReachBorder(int cat) {
+            if (++seenMark == Integer.MAX_VALUE) {
+                Arrays.fill(seen, 0);
+                seenMark = 1;
+            }
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = cat;
+            seen[cat] = seenMark;
+            while (head < tail) {
+                int cell = queue[head++];
+                if (border.contains(cell)) {
+                    return true;
+                }
+                for (int k = topology.neighborStart(cell), end = topology.neighborEnd(cell); k < end; k++) {
+                    int neighbor = topology.neighborAt(k);
+                    if (seen[neighbor] != seenMark && !isBlocked(bits, neighbor)) {
+                        seen[neighbor] = seenMark;
+                        queue[tail++] = neighbor;
+                    }
+                }
+            }
+            return false;
+        }
+
+        // xorshift64: rápido y sin objetos
+        private long nextRandom() {
+            random ^= random << 13;
+            random ^= random >>> 7;
+            random ^= random << 17;
+            return random;
+        }
+
+        private int nextInt(int bound) {
+            return (int) (((nextRandom() >>> 33) * bound) >>> 31);
+        }
+    }
+}
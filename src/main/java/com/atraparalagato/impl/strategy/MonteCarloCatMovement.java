@@ -0,0 +1,86 @@
+package com.atraparalagato.impl.strategy;
+
+import com.atraparalagato.base.model.GameBoard;
+import com.atraparalagato.base.strategy.CatMovementStrategy;
+import com.atraparalagato.impl.model.HexGameBoard;
+import com.atraparalagato.impl.model.HexPosition;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Estrategia del gato con búsqueda Monte Carlo en paralelo (ver MonteCarloAdvisor).
+ *
+ * En cada turno juega miles de partidas rápidas desde la posición actual, repartidas
+ * entre los hilos del pool de búsquedas (a lo más MonteCarloAdvisor.SEARCH_THREADS), y
+ * elige el paso que más se exploró. Solo busca sobre HexGameBoard
+ * de tamaño normal; en otros tableros se comporta como BFS hacia el borde.
+ *
+ * Conceptos implementados:
+ * - Algoritmos: MCTS con UCT (delegado en MonteCarloAdvisor), BFS de respaldo
+ */
+public class MonteCarloCatMovement extends CatMovementStrategy<HexPosition> {
+
+    private final MonteCarloAdvisor advisor;
+    private final ShortestPathEngine engine;
+
+    public MonteCarloCatMovement(GameBoard<HexPosition> board) {
+        this(board, MonteCarloAdvisor.DEFAULT_BUDGET_MILLIS);
+    }
+
+    public MonteCarloCatMovement(GameBoard<HexPosition> board, long budgetMillis) {
+        super(board);
+        this.advisor = new MonteCarloAdvisor(budgetMillis);
+        this.engine = new ShortestPathEngine(board, false);
+    }
+
+    @Override
+    protected List<HexPosition> getPossibleMoves(HexPosition currentPosition) {
+        List<HexPosition> possible = new ArrayList<>(6);
+        board.forEachFreeNeighbor(currentPosition, possible::add);
+        return possible;
+    }
+
+    @Override
+    public Optional<HexPosition> selectBestMove(List<HexPosition> possibleMoves,
+                                                  HexPosition currentPosition,
+                                                  HexPosition targetPosition) {
+        Optional<HexPosition> move = board instanceof HexGameBoard hexBoard
+                ? advisor.suggestCatMove(hexBoard, currentPosition)
+                : Optional.empty();
+        if (move.isPresent()) {
+            return move;
+        }
+        List<HexPosition> path = engine.findPathToBorder(currentPosition);
+        return Optional.of(path.size() > 1 ? path.get(1) : currentPosition);
+    }
+
+    @Override
+    protected Function<HexPosition, Double> getHeuristicFunction(HexPosition targetPosition) {
+        return position -> position.distanceTo(targetPosition);
+    }
+
+    @Override
+    protected Predicate<HexPosition> getGoalPredicate() {
+        return board::isAtBorder;
+    }
+
+    @Override
+    protected double getMoveCost(HexPosition from, HexPosition to) {
+        return 1.0;
+    }
+
+    @Override
+    public boolean hasPathToGoal(HexPosition currentPosition) {
+        if (board instanceof HexGameBoard hexBoard) {
+            return hexBoard.hasEscapeRoute(currentPosition);
+        }
+        return engine.hasPathToBorder(currentPosition);
+    }
+
+    @Override
+    public List<HexPosition> getFullPath(HexPosition currentPosition, HexPosition targetPosition) {
+        return engine.findPathBidirectional(currentPosition, targetPosition);
+    }
+}
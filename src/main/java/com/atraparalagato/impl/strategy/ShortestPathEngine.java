@@ -0,0 +1,362 @@
+package com.atraparalagato.impl.strategy;
+
+import com.atraparalagato.base.model.GameBoard;
+import com.atraparalagato.impl.model.HexGameBoard;
+import com.atraparalagato.impl.model.HexPosition;
+import com.atraparalagato.impl.model.HexTopology;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Motor de caminos más cortos compartido por las estrategias del gato.
+ *
+ * Cada paso cuesta 1, así que no hace falta una cola de prioridad general: las celdas
+ * pendientes se guardan en "cubetas" según su prioridad f = g + h (cola de Dial).
+ * Con la heurística activada (A*), h es la distancia hexagonal al objetivo o los anillos
+ * que faltan hasta el borde; un paso cambia f en 0, 1 o 2, así que bastan tres cubetas
+ * circulares. Sin heurística f = g y el motor es un BFS por niveles. En ambos casos cada
+ * celda entra y sale de las cubetas en O(1) y la búsqueda es lineal.
+ * Por eso reemplaza al A* con IndexedMinHeap que tenía AStarCatMovement: el montículo
+ * queda para D* Lite, cuyas claves compuestas (con km) no caben en tres cubetas.
+ *
+ * Trabaja sobre los índices densos de celda del tablero. Los arreglos se reservan en la
+ * primera búsqueda y se reutilizan: cada búsqueda tiene su número y una celda solo vale
+ * si su marca coincide. Buscar no crea objetos; solo el camino que se retorna.
+ * No es seguro usar la misma instancia desde varios hilos a la vez.
+ *
+ * Para caminos entre dos celdas también hay un BFS bidireccional (findPathBidirectional):
+ * avanza por niveles desde ambos extremos, siempre por el lado con menos frontera, y
+ * termina cuando se encuentran. En un tablero abierto explora dos discos de la mitad del
+ * radio en vez de uno completo.
+ *
+ * Conceptos implementados:
+ * - Algoritmos: BFS, BFS bidireccional y A* con cola de cubetas (Dial)
+ * - Estructuras de Datos: arreglos primitivos reutilizables
+ */
+public final class ShortestPathEngine {
+
+    private static final int BUCKETS = 3; // Mayor cambio de f en un paso, más uno
+
+    private final GameBoard<HexPosition> board;
+    private final boolean guided;
+    private final int radius;
+    private final int goalRing;
+    private final HexTopology topology; // coordenadas precalculadas para la heurística
+
+    private int[] gScore;       // pasos desde el inicio
+    private int[] parent;       // celda anterior en el mejor camino conocido
+    private int[] visitMark;    // búsqueda en la que se alcanzó la celda
+    private int[] closedMark;   // búsqueda en la que se expandió la celda
+    private final int[][] bucketCells = new int[BUCKETS][];
+    private final int[] bucketHead = new int[BUCKETS];
+    private final int[] bucketTail = new int[BUCKETS];
+    private int pending;
+    private int search;
+
+    // Estado de la búsqueda en curso, leído por relaxNeighbor
+    private int targetIndex;    // celda objetivo, o -1 si no hay
+    private boolean borderIsGoal;
+    private int expanding;      // celda que se está expandiendo
+    private final IntConsumer relaxNeighbor = this::relax;
+
+    // Lado "hacia atrás" del BFS bidireccional (desde el destino) y colas de ambos lados
+    private int[] gBack;
+    private int[] parentBack;
+    private int[] visitBackMark;
+    private int[] forwardQueue;
+    private int[] backwardQueue;
+    private int forwardTail;
+    private int backwardTail;
+    private boolean expandingForward;
+    private int meeting;        // mejor celda de encuentro del nivel en curso, o -1
+    private int meetingLength;  // largo del camino que pasa por ella
+    private final IntConsumer visitNeighbor = this::visitFromSide;
+
+    /**
+     * @param board  tablero sobre el que se busca (debe exponer índices de celda)
+     * @param guided true para A* (con heurística), false para BFS
+     */
+    public ShortestPathEngine(GameBoard<HexPosition> board, boolean guided) {
+        this.board = board;
+        this.guided = guided;
+        this.radius = board.getSize();
+        this.goalRing = board instanceof HexGameBoard hexBoard ? hexBoard.getBorder().getMinRing() : radius;
+        this.topology = board instanceof HexGameBoard hexBoard ? hexBoard.getTopology() : HexTopology.forRadius(radius);
+    }
+
+    /**
+     * Verifica si desde la posición se llega por celdas libres a alguna celda de borde.
+     */
+    public boolean hasPathToBorder(HexPosition from) {
+        int start = board.indexOf(from);
+        if (start < 0) {
+            return board.isAtBorder(from);
+        }
+        return search(start, -1, true) >= 0;
+    }
+
+    /**
+     * Camino más corto hasta el borde más cercano, incluyendo ambos extremos,
+     * o lista vacía si el borde no es alcanzable.
+     */
+    public List<HexPosition> findPathToBorder(HexPosition from) {
+        return findPath(from, null, true);
+    }
+
+    /**
+     * Camino más corto entre dos posiciones, incluyendo ambos extremos,
+     * o lista vacía si no hay camino.
+     */
+    public List<HexPosition> findPath(HexPosition from, HexPosition to) {
+        return findPath(from, to, false);
+    }
+
+    /**
+     * Camino más corto hasta la posición dada o, si stopAtBorder, hasta la primera
+     * celda de borde que aparezca antes. "to" puede ser null si stopAtBorder.
+     */
+    public List<HexPosition> findPath(HexPosition from, HexPosition to, boolean stopAtBorder) {
+        int start = board.indexOf(from);
+        int target = to == null ? -1 : board.indexOf(to);
+        if (start < 0 || (target < 0 && !stopAtBorder)) {
+            return new ArrayList<>();
+        }
+        int goal = search(start, target, stopAtBorder);
+        return goal < 0 ? new ArrayList<>() : reconstructPath(goal);
+    }
+
+    /**
+     * Camino más corto entre dos posiciones con un BFS desde ambos extremos,
+     * incluyendo ambos extremos, o lista vacía si no hay camino.
+     */
+    public List<HexPosition> findPathBidirectional(HexPosition from, HexPosition to) {
+        int start = board.indexOf(from);
+        int target = board.indexOf(to);
+        if (start < 0 || target < 0 || board.isBlocked(to)) {
+            return new ArrayList<>();
+        }
+        prepare();
+        prepareBackward();
+        visitMark[start] = search;
+        gScore[start] = 0;
+        parent[start] = -1;
+        visitBackMark[target] = search;
+        gBack[target] = 0;
+        parentBack[target] = -1;
+        if (start == target) {
+            return joinPaths(start);
+        }
+        forwardQueue[0] = start;
+        backwardQueue[0] = target;
+        forwardTail = 1;
+        backwardTail = 1;
+        int forwardHead = 0;
+        int backwardHead = 0;
+
+        while (forwardHead < forwardTail && backwardHead < backwardTail) {
+            // Expandir un nivel completo del lado con menos frontera
+            expandingForward = forwardTail - forwardHead <= backwardTail - backwardHead;
+            int head = expandingForward ? forwardHead : backwardHead;
+            int levelEnd = expandingForward ? forwardTail : backwardTail;
+            int[] queue = expandingForward ? forwardQueue : backwardQueue;
+            meeting = -1;
+            meetingLength = Integer.MAX_VALUE;
+            for (; head < levelEnd; head++) {
+                expanding = queue[head];
+                board.forEachFreeNeighbor(expanding, visitNeighbor);
+            }
+            if (expandingForward) {
+                forwardHead = head;
+            } else {
+                backwardHead = head;
+            }
+            // Terminado el nivel, el mejor encuentro visto es un camino más corto
+            if (meeting >= 0) {
+                return joinPaths(meeting);
+            }
+        }
+        return new ArrayList<>();
+    }
+
+    // Visita un vecino libre desde el lado que se está expandiendo y detecta encuentros
+    private void visitFromSide(int neighbor) {
+        int length;
+        if (expandingForward) {
+            if (visitMark[neighbor] != search) {
+                visitMark[neighbor] = search;
+                gScore[neighbor] = gScore[expanding] + 1;
+                parent[neighbor] = expanding;
+                forwardQueue[forwardTail++] = neighbor;
+            }
+            if (visitBackMark[neighbor] != search) {
+                return;
+            }
+            length = gScore[neighbor] + gBack[neighbor];
+        } else {
+            if (visitBackMark[neighbor] != search) {
+                visitBackMark[neighbor] = search;
+                gBack[neighbor] = gBack[expanding] + 1;
+                parentBack[neighbor] = expanding;
+                backwardQueue[backwardTail++] = neighbor;
+            }
+            if (visitMark[neighbor] != search) {
+                return;
+            }
+            length = gScore[neighbor] + gBack[neighbor];
+        }
+        if (length < meetingLength) {
+            meetingLength = length;
+            meeting = neighbor;
+        }
+    }
+
+    // Une la mitad desde el inicio con la mitad hacia el destino en la celda de encuentro
+    private List<HexPosition> joinPaths(int meet) {
+        List<HexPosition> path = new ArrayList<>(gScore[meet] + gBack[meet] + 1);
+        for (int cell = meet; cell >= 0; cell = parent[cell]) {
+            path.add(board.positionAt(cell));
+        }
+        Collections.reverse(path);
+        for (int cell = parentBack[meet]; cell >= 0; cell = parentBack[cell]) {
+            path.add(board.positionAt(cell));
+        }
+        return path;
+    }
+
+    // Búsqueda desde start; retorna la celda objetivo alcanzada, o -1 si no hay camino
+    private int search(int start, int target, boolean borderGoal) {
+        prepare();
+        targetIndex = target;
+        borderIsGoal = borderGoal;
+
+        visitMark[start] = search;
+        gScore[start] = 0;
+        parent[start] = -1;
+        int f = heuristic(start);
+        push(start, f);
+
+        while (pending > 0) {
+            // Avanzar hasta la siguiente cubeta con celdas (a lo más dos vacías seguidas)
+            int bucket = f % BUCKETS;
+            while (bucketHead[bucket] == bucketTail[bucket]) {
+                bucketHead[bucket] = bucketTail[bucket] = 0;
+                bucket = ++f % BUCKETS;
+            }
+            int current = bucketCells[bucket][bucketHead[bucket]++];
+            pending--;
+            if (closedMark[current] == search) {
+                continue; // Entrada vieja: la celda ya salió antes con un costo menor
+            }
+            if (current == targetIndex || (borderIsGoal && board.isAtBorder(current))) {
+                return current;
+            }
+            closedMark[current] = search;
+            expanding = current;
+            board.forEachFreeNeighbor(current, relaxNeighbor);
+        }
+        return -1;
+    }
+
+    // Actualiza el mejor costo conocido de un vecino libre de la celda en expansión
+    private void relax(int neighbor) {
+        if (closedMark[neighbor] == search) {
+            return; // Con heurística consistente, una celda cerrada ya tiene su costo final
+        }
+        int tentativeG = gScore[expanding] + 1;
+        if (visitMark[neighbor] == search && tentativeG >= gScore[neighbor]) {
+            return;
+        }
+        visitMark[neighbor] = search;
+        gScore[neighbor] = tentativeG;
+        parent[neighbor] = expanding;
+        push(neighbor, tentativeG + heuristic(neighbor));
+    }
+
+    // Heurística consistente (cambia a lo más en 1 por paso), o 0 si la búsqueda es BFS
+    private int heuristic(int cell) {
+        if (!guided) {
+            return 0;
+        }
+        int h = Integer.MAX_VALUE;
+        if (targetIndex >= 0) {
+            h = topology.distance(cell, targetIndex);
+        }
+        if (borderIsGoal) {
+            h = Math.min(h, Math.max(0, goalRing - topology.ringOf(cell)));
+        }
+        return h;
+    }
+
+    // Agrega la celda al final de la cubeta de prioridad f
+    private void push(int cell, int f) {
+        int bucket = f % BUCKETS;
+        int[] cells = bucketCells[bucket];
+        if (bucketTail[bucket] == cells.length) {
+            int head = bucketHead[bucket];
+            int count = bucketTail[bucket] - head;
+            if (head > cells.length / 2) {
+                System.arraycopy(cells, head, cells, 0, count); // Reusar el espacio ya leído
+            } else {
+                cells = Arrays.copyOfRange(cells, head, cells.length * 2);
+                bucketCells[bucket] = cells;
+            }
+            bucketHead[bucket] = 0;
+            bucketTail[bucket] = count;
+        }
+        cells[bucketTail[bucket]++] = cell;
+        pending++;
+    }
+
+    // Reserva los arreglos la primera vez y abre una búsqueda nueva
+    private void prepare() {
+        if (gScore == null) {
+            int cells = HexPosition.cellCount(radius);
+            gScore = new int[cells];
+            parent = new int[cells];
+            visitMark = new int[cells];
+            closedMark = new int[cells];
+            for (int b = 0; b < BUCKETS; b++) {
+                bucketCells[b] = new int[64];
+            }
+        }
+        Arrays.fill(bucketHead, 0);
+        Arrays.fill(bucketTail, 0);
+        pending = 0;
+        if (++search == Integer.MAX_VALUE) {
+            // Muy improbable: se agotaron los números de búsqueda, se limpian las marcas
+            Arrays.fill(visitMark, 0);
+            Arrays.fill(closedMark, 0);
+            if (visitBackMark != null) {
+                Arrays.fill(visitBackMark, 0);
+            }
+            search = 1;
+        }
+    }
+
+    // Reserva la primera vez los arreglos del lado hacia atrás y las colas por nivel.
+    // Usa el mismo número de búsqueda que prepare(), que también limpia sus marcas
+    private void prepareBackward() {
+        if (gBack == null) {
+            int cells = gScore.length;
+            gBack = new int[cells];
+            parentBack = new int[cells];
+            visitBackMark = new int[cells];
+            forwardQueue = new int[cells];
+            backwardQueue = new int[cells];
+        }
+    }
+
+    // Arma el camino siguiendo los padres desde la celda alcanzada
+    private List<HexPosition> reconstructPath(int goal) {
+        List<HexPosition> path = new ArrayList<>(gScore[goal] + 1);
+        for (int cell = goal; cell >= 0; cell = parent[cell]) {
+            path.add(board.positionAt(cell));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+}
@@ -0,0 +1,260 @@
+package com.atraparalagato.impl.strategy;
+
+import com.atraparalagato.base.model.GameBoard;
+import com.atraparalagato.impl.model.HexGameBoard;
+import com.atraparalagato.impl.model.HexPosition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntConsumer;
+
+/**
+ * Corte mínimo de celdas entre el gato y el borde, con flujo máximo (Dinic).
+ *
+ * Cada celda libre se divide en dos nodos, entrada y salida, unidos por un arco de
+ * capacidad 1: cortar ese arco es bloquear la celda. Los pasos entre vecinos y la
+ * llegada al borde tienen capacidad "infinita", así que un corte mínimo solo puede
+ * estar formado por celdas. Por el teorema flujo máximo / corte mínimo, el flujo
+ * máximo desde el gato es la menor cantidad de celdas que hay que bloquear para
+ * encerrarlo, y las celdas del corte son las que quedan en la frontera de lo
+ * alcanzable en la red residual.
+ *
+ * El flujo nunca pasa de 6 (los vecinos del gato), así que Dinic termina en a lo más
+ * seis caminos aumentantes: una sugerencia cuesta unos pocos recorridos del tablero
+ * en lugar de evaluar la estrategia del gato para cada celda libre.
+ *
+ * La red vive en arreglos primitivos (lista de arcos con el arco inverso en la
+ * posición vecina) que se reservan una vez y se reconstruyen en cada consulta.
+ * No es seguro usar la misma instancia desde varios hilos a la vez.
+ *
+ * Conceptos implementados:
+ * - Algoritmos: flujo máximo de Dinic, corte mínimo de vértices
+ * - Estructuras de Datos: grafo en arreglos (lista de arcos enlazada por nodo)
+ */
+public final class VertexCutSolver {
+
+    private static final int INFINITE = Integer.MAX_VALUE / 2;
+
+    private final GameBoard<HexPosition> board;
+    private final int cells;
+
+    // Red: nodo 2c es la entrada de la celda c, 2c + 1 su salida, y el último es el sumidero
+    private int[] firstEdge;    // primer arco de cada nodo, o -1
+    private int[] nextEdge;
+    private int[] edgeTo;
+    private int[] capacity;
+    private int edgeCount;
+    private int sink;
+
+    // Dinic: niveles del BFS, siguiente arco por revisar de cada nodo y caminos en curso
+    private int[] level;
+    private int[] currentEdge;
+    private int[] queue;
+    private int[] pathEdges;
+
+    // Celda cuyos arcos se están agregando (o que se expande), leída por los consumidores
+    private int building;
+    private int excluded;
+    private int tail;
+    private final IntConsumer addStep = this::addStep;
+    private final IntConsumer visitCell = this::visitCell;
+
+    public VertexCutSolver(GameBoard<HexPosition> board) {
+        this.board = board;
+        this.cells = HexPosition.cellCount(board.getSize());
+    }
+
+    /**
+     * Menor conjunto de celdas libres cuyo bloqueo deja al gato sin camino al borde.
+     * Vacío si el gato ya está encerrado, ya está en el borde o fuera del tablero.
+     */
+    public List<HexPosition> findMinimumCut(HexPosition catPosition) {
+        int cat = board.indexOf(catPosition);
+        List<HexPosition> cut = new ArrayList<>();
+        if (cat < 0 || board.isAtBorder(cat)) {
+            return cut;
+        }
+        int source = 2 * cat + 1;
+        buildNetwork(cat);
+        if (maxFlow(source) == 0) {
+            return cut;
+        }
+        // Después del último BFS, level >= 0 marca lo alcanzable en la red residual:
+        // las celdas con la entrada alcanzable y la salida no son el corte
+        for (int cell = 0; cell < cells; cell++) {
+            if (cell != cat && level[2 * cell] >= 0 && level[2 * cell + 1] < 0) {
+                cut.add(board.positionAt(cell));
+            }
+        }
+        return cut;
+    }
+
+    /**
+     * Celda del corte mínimo que conviene bloquear primero: la que deja al gato más
+     * lejos del borde y, a igual distancia, la más cercana al gato.
+     */
+    public Optional<HexPosition> suggestBlock(HexPosition catPosition) {
+        List<HexPosition> cut = findMinimumCut(catPosition);
+        int cat = board.indexOf(catPosition);
+        HexPosition best = null;
+        int bestEscape = -1;
+        for (HexPosition cell : cut) {
+            int escape = escapeDistance(cat, board.indexOf(cell));
+            if (escape > bestEscape || (escape == bestEscape
+                    && cell.distanceTo(catPosition) < best.distanceTo(catPosition))) {
+                bestEscape = escape;
+                best = cell;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    // Arma la red sobre las celdas libres actuales
+    private void buildNetwork(int cat) {
+        int nodes = 2 * cells + 1;
+        if (firstEdge == null) {
+            int edges = 16 * cells; // por celda: división, 6 pasos y borde, cada uno con su inverso
+            firstEdge = new int[nodes];
+            nextEdge = new int[edges];
+            edgeTo = new int[edges];
+            capacity = new int[edges];
+            level = new int[nodes];
+            currentEdge = new int[nodes];
+            queue = new int[nodes];
+            pathEdges = new int[nodes];
+        }
+        Arrays.fill(firstEdge, -1);
+        edgeCount = 0;
+        sink = nodes - 1;
+        for (int cell = 0; cell < cells; cell++) {
+            if (isBlocked(cell)) {
+                continue;
+            }
+            // El gato es la fuente: su celda no se puede bloquear
+            addEdge(2 * cell, 2 * cell + 1, cell == cat ? INFINITE : 1);
+            if (board.isAtBorder(cell)) {
+                addEdge(2 * cell + 1, sink, INFINITE);
+            }
+            building = cell;
+            board.forEachFreeNeighbor(cell, addStep);
+        }
+    }
+
+    private void addStep(int neighbor) {
+        addEdge(2 * building + 1, 2 * neighbor, INFINITE);
+    }
+
+    // Agrega el arco y su inverso (de capacidad 0) en posiciones e y e ^ 1
+    private void addEdge(int from, int to, int cap) {
+        edgeTo[edgeCount] = to;
+        capacity[edgeCount] = cap;
+        nextEdge[edgeCount] = firstEdge[from];
+        firstEdge[from] = edgeCount++;
+        edgeTo[edgeCount] = from;
+        capacity[edgeCount] = 0;
+        nextEdge[edgeCount] = firstEdge[to];
+        firstEdge[to] = edgeCount++;
+    }
+
+    private int maxFlow(int source) {
+        int flow = 0;
+        while (buildLevels(source)) {
+            System.arraycopy(firstEdge, 0, currentEdge, 0, firstEdge.length);
+            int pushed;
+            while ((pushed = augment(source)) > 0) {
+                flow += pushed;
+            }
+        }
+        return flow;
+    }
+
+    // BFS por arcos con capacidad; retorna si el sumidero sigue alcanzable
+    private boolean buildLevels(int source) {
+        Arrays.fill(level, -1);
+        int head = 0;
+        int tail = 0;
+        level[source] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int node = queue[head++];
+            for (int e = firstEdge[node]; e >= 0; e = nextEdge[e]) {
+                int to = edgeTo[e];
+                if (capacity[e] > 0 && level[to] < 0) {
+                    level[to] = level[node] + 1;
+                    queue[tail++] = to;
+                }
+            }
+        }
+        return level[sink] >= 0;
+    }
+
+    // Busca un camino en el grafo de niveles (DFS iterativo: los caminos pueden ser
+    // largos en tableros grandes) y empuja por él su capacidad mínima
+    private int augment(int source) {
+        int depth = 0;
+        int node = source;
+        while (node != sink) {
+            int e = currentEdge[node];
+            while (e >= 0 && (capacity[e] == 0 || level[edgeTo[e]] != level[node] + 1)) {
+                e = nextEdge[e];
+            }
+            currentEdge[node] = e;
+            if (e >= 0) {
+                pathEdges[depth++] = e;
+                node = edgeTo[e];
+                continue;
+            }
+            // Callejón sin salida: se descarta el nodo y se retrocede un arco
+            level[node] = -1;
+            if (depth == 0) {
+                return 0;
+            }
+            int back = pathEdges[--depth];
+            node = edgeTo[back ^ 1];
+            currentEdge[node] = nextEdge[back];
+        }
+        int pushed = INFINITE;
+        for (int i = 0; i < depth; i++) {
+            pushed = Math.min(pushed, capacity[pathEdges[i]]);
+        }
+        for (int i = 0; i < depth; i++) {
+            capacity[pathEdges[i]] -= pushed;
+            capacity[pathEdges[i] ^ 1] += pushed;
+        }
+        return pushed;
+    }
+
+    // Pasos del gato al borde si además se bloquea la celda excluida (BFS sobre los
+    // arreglos de la red, ya libres), o INFINITE si queda encerrado
+    private int escapeDistance(int cat, int blockedCell) {
+        Arrays.fill(level, 0, cells, -1);
+        excluded = blockedCell;
+        int head = 0;
+        tail = 0;
+        level[cat] = 0;
+        queue[tail++] = cat;
+        while (head < tail) {
+            building = queue[head++];
+            if (board.isAtBorder(building)) {
+                return level[building];
+            }
+            board.forEachFreeNeighbor(building, visitCell);
+        }
+        return INFINITE;
+    }
+
+    private void visitCell(int neighbor) {
+        if (neighbor != excluded && level[neighbor] < 0) {
+            level[neighbor] = level[building] + 1;
+            queue[tail++] = neighbor;
+        }
+    }
+
+    private boolean isBlocked(int cell) {
+        return board instanceof HexGameBoard hexBoard
+                ? hexBoard.isBlocked(cell)
+                : board.isBlocked(board.positionAt(cell));
+    }
+}
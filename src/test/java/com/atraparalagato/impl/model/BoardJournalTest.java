@@ -0,0 +1,101 @@
+package com.atraparalagato.impl.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests del diario circular de cambios del tablero.
+ *
+ * Conceptos de testing:
+ * - Casos borde de un buffer circular: vuelta completa y registros pisados
+ */
+class BoardJournalTest {
+
+    @Test
+    void testWraparoundKeepsNewestEntries() {
+        // Test: Al dar la vuelta se pisan los registros más antiguos, en orden
+        BoardJournal journal = new BoardJournal(4);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, journal.append(100 + i, i + 1));
+        }
+        assertEquals(10, journal.nextSequence());
+        assertEquals(6, journal.oldestSequence());
+
+        List<long[]> read = new ArrayList<>();
+        assertTrue(journal.forEachSince(6, (seq, cell, moveNumber, cat) ->
+                read.add(new long[]{seq, cell, moveNumber})));
+        assertEquals(4, read.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(6 + i, read.get(i)[0]);
+            assertEquals(106 + i, read.get(i)[1]);
+            assertEquals(7 + i, read.get(i)[2]);
+        }
+    }
+
+    @Test
+    void testForEachSinceAfterOverflow() {
+        // Test: Un lector que se quedó atrás recibe false y ningún registro
+        BoardJournal journal = new BoardJournal(3);
+        for (int i = 0; i < 7; i++) {
+            journal.append(i, i);
+        }
+        int[] visited = {0};
+        assertFalse(journal.forEachSince(0, (seq, cell, moveNumber, cat) -> visited[0]++));
+        assertFalse(journal.forEachSince(3, (seq, cell, moveNumber, cat) -> visited[0]++));
+        assertEquals(0, visited[0]);
+
+        // Desde la última secuencia no hay nada que leer, pero la lectura está completa
+        assertTrue(journal.forEachSince(7, (seq, cell, moveNumber, cat) -> visited[0]++));
+        assertTrue(journal.forEachSince(5, (seq, cell, moveNumber, cat) -> visited[0]++));
+        assertEquals(2, visited[0]);
+    }
+
+    @Test
+    void testCatPositionIsStoredWithLastEntry() {
+        // Test: La posición del gato informada después de la jugada queda en su registro
+        BoardJournal journal = new BoardJournal(2);
+        journal.append(5, 1);
+        journal.recordCatPosition(9);
+        journal.append(6, 2);
+
+        List<Integer> cats = new ArrayList<>();
+        journal.forEachSince(0, (seq, cell, moveNumber, cat) -> cats.add(cat));
+        assertEquals(List.of(9, 9), cats);
+    }
+
+    @Test
+    void testResetStartsOver() {
+        // Test: Después de reset la secuencia vuelve a 0 y una secuencia vieja pide releer
+        BoardJournal journal = new BoardJournal(4);
+        journal.recordCatPosition(3);
+        for (int i = 0; i < 6; i++) {
+            journal.append(i, i);
+        }
+        journal.reset();
+
+        assertEquals(0, journal.nextSequence());
+        assertFalse(journal.forEachSince(6, (seq, cell, moveNumber, cat) -> { }));
+        journal.append(42, 1);
+        List<Integer> cats = new ArrayList<>();
+        assertTrue(journal.forEachSince(0, (seq, cell, moveNumber, cat) -> cats.add(cat)));
+        assertEquals(List.of(BoardJournal.UNKNOWN_CAT), cats);
+    }
+
+    @Test
+    void testClearedBoardStartsWithEmptyJournal() {
+        // Test: Un tablero que vuelve de la reserva no trae el diario de la partida anterior
+        HexGameBoard board = new BitSetHexGameBoard(5);
+        board.makeMove(HexPosition.of(1, 0));
+        board.makeMove(HexPosition.of(2, 0));
+        assertEquals(2, board.getJournal().nextSequence());
+
+        board.clear();
+        assertEquals(0, board.getJournal().nextSequence());
+        int[] visited = {0};
+        assertTrue(board.getJournal().forEachSince(0, (seq, cell, moveNumber, cat) -> visited[0]++));
+        assertEquals(0, visited[0]);
+    }
+}
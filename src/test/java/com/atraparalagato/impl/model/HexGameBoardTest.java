@@ -0,0 +1,274 @@
+package com.atraparalagato.impl.model;
+
+import com.atraparalagato.example.model.ExampleGameBoard;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Tests del tablero hexagonal con bitset y de las estructuras que mantiene.
+ *
+ * Conceptos de testing:
+ * - Comparar estructuras incrementales contra un recálculo completo
+ * - Secuencias aleatorias con semilla fija para que sean reproducibles
+ */
+class HexGameBoardTest {
+
+    private BitSetHexGameBoard board;
+
+    @BeforeEach
+    void setUp() {
+        board = new BitSetHexGameBoard(6);
+    }
+
+    @Test
+    void testBitSetMatchesHashSetBoard() {
+        // Test: El tablero con bitset se comporta igual que el de HashSet
+        HexGameBoard reference = new HexGameBoard(6);
+        Random random = new Random(7);
+
+        for (int i = 0; i < 60; i++) {
+            HexPosition pos = randomCell(random);
+            assertEquals(reference.makeMove(pos), board.makeMove(pos));
+        }
+        assertEquals(reference.getBlockedPositions(), board.getBlockedPositions());
+        board.streamPositions().forEach(pos -> {
+            assertEquals(reference.isBlocked(pos), board.isBlocked(pos));
+            assertEquals(reference.getAdjacentPositions(pos), board.getAdjacentPositions(pos));
+        });
+    }
+
+    @Test
+    void testBlockedPositionsCopyIsReusedUntilNextMove() {
+        // Test: Entre movimientos se retorna la misma copia inmutable
+        board.makeMove(HexPosition.of(1, 0));
+        Set<HexPosition> first = board.getBlockedPositions();
+        assertSame(first, board.getBlockedPositions());
+        assertThrows(UnsupportedOperationException.class, () -> first.add(HexPosition.of(2, 0)));
+
+        long version = board.getVersion();
+        board.makeMove(HexPosition.of(2, 0));
+        assertNotEquals(version, board.getVersion());
+        assertEquals(2, board.getBlockedPositions().size());
+        assertEquals(1, first.size());
+    }
+
+    @Test
+    void testOffHeapBoardMatchesBitSetBoard() {
+        // Test: El tablero fuera del heap se comporta igual que el de bitset
+        HugeHexGameBoard huge = new HugeHexGameBoard(6);
+        Random random = new Random(5);
+
+        for (int i = 0; i < 60; i++) {
+            HexPosition pos = randomCell(random);
+            assertEquals(board.makeMove(pos), huge.makeMove(pos));
+        }
+        assertEquals(board.getBlockedPositions(), huge.getBlockedPositions());
+        for (int i = 0; i < board.getTopology().getCellCount(); i++) {
+            assertEquals(board.getTopology().positionAt(i), huge.getTopology().positionAt(i));
+            assertEquals(board.getDistanceToBorder(i), huge.getDistanceToBorder(i));
+        }
+    }
+
+    @Test
+    void testOffHeapTentativeMoveKeepsMappedTopology() {
+        // Test: Evaluar un movimiento sobre el tablero fuera del heap no crea ni deja en
+        // la caché una topología en el heap, y da lo mismo que el tablero de bitset
+        int radius = 23; // Radio que ningún otro test usa
+        HugeHexGameBoard huge = new HugeHexGameBoard(radius);
+        huge.makeMove(HexPosition.of(1, 0));
+        HexPosition move = HexPosition.of(0, 1);
+        HexPosition center = HexPosition.of(0, 0);
+
+        int distance = huge.withTentativeMove(move, probe -> {
+            assertSame(huge.getTopology(), ((HexGameBoard) probe).getTopology());
+            assertTrue(probe.isBlocked(move));
+            return ((HexGameBoard) probe).getDistanceToBorder(center);
+        });
+        assertFalse(huge.isBlocked(move));
+        assertEquals(1, huge.getBlockedCount());
+        assertFalse(HexTopology.isShared(radius));
+
+        BitSetHexGameBoard reference = new BitSetHexGameBoard(radius);
+        reference.makeMove(HexPosition.of(1, 0));
+        int expected = reference.withTentativeMove(move,
+                probe -> ((HexGameBoard) probe).getDistanceToBorder(center));
+        assertEquals(expected, distance);
+    }
+
+    @Test
+    void testBorderMaskAndList() {
+        // Test: El borde son los anillos size - 1 y size, como bitmask y lista ordenada
+        HexBorder border = board.getBorder();
+        assertEquals(6 * 5 + 6 * 6, border.size());
+        for (int b = 1; b < border.size(); b++) {
+            assertTrue(border.cellAt(b - 1) < border.cellAt(b));
+        }
+        board.streamPositions().forEach(pos ->
+            assertEquals(pos.getRing() >= 5, board.isAtBorder(pos)));
+        assertTrue(board.isAtBorder(HexPosition.of(7, 0))); // Fuera del tablero
+    }
+
+    @Test
+    void testDistanceFieldOnEmptyBoard() {
+        // Test: En un tablero vacío la distancia al borde es geométrica
+        HexPosition center = HexPosition.of(0, 0);
+        assertEquals(5, board.getDistanceToBorder(center));
+        assertEquals(0, board.getDistanceToBorder(HexPosition.of(5, 0)));
+        assertEquals(0, board.getDistanceToBorder(HexPosition.of(6, 0)));
+        assertTrue(board.isAtBorder(board.getNearestReachableBorder(center).orElseThrow()));
+    }
+
+    @Test
+    void testIncrementalDistanceMatchesRebuild() {
+        // Test: Reparar el campo tras cada bloqueo da lo mismo que recalcularlo
+        Random random = new Random(42);
+        board.getDistanceToBorder(0); // Forzar el cálculo inicial
+
+        for (int move = 0; move < 80; move++) {
+            board.makeMove(randomCell(random));
+
+            BitSetHexGameBoard fresh = new BitSetHexGameBoard(6);
+            board.getBlockedPositions().forEach(fresh::makeMove);
+            for (int i = 0; i < board.getTopology().getCellCount(); i++) {
+                assertEquals(fresh.getDistanceToBorder(i), board.getDistanceToBorder(i),
+                        "celda " + i + " tras " + (move + 1) + " bloqueos");
+            }
+        }
+    }
+
+    @Test
+    void testEnclosedCellIsUnreachable() {
+        // Test: Rodear una celda la deja sin camino al borde
+        HexPosition center = HexPosition.of(0, 0);
+        assertTrue(board.hasEscapeRoute(center));
+        for (int i = 0; i < 6; i++) {
+            board.makeMove(center.neighbor(i));
+        }
+        assertFalse(board.hasEscapeRoute(center));
+        assertEquals(HexGameBoard.UNREACHABLE, board.getDistanceToBorder(center));
+        assertTrue(board.getNextStepToBorder(center).isEmpty());
+    }
+
+    @Test
+    void testZobristHashDependsOnlyOnBlockedCells() {
+        // Test: El mismo conjunto de bloqueos da el mismo hash, sin importar el orden
+        HexGameBoard reference = new HexGameBoard(6);
+        long empty = board.getZobristHash();
+        Random random = new Random(3);
+        List<HexPosition> moves = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            moves.add(randomCell(random));
+        }
+        moves.forEach(board::makeMove);
+        Collections.reverse(moves);
+        moves.forEach(reference::makeMove);
+
+        assertNotEquals(empty, board.getZobristHash());
+        assertEquals(reference.getZobristHash(), board.getZobristHash());
+    }
+
+    @Test
+    void testSnapshotsAreImmutableAndRestorable() {
+        // Test: Una foto no cambia con movimientos posteriores y se puede restaurar
+        Random random = new Random(11);
+        for (int i = 0; i < 20; i++) {
+            board.makeMove(randomCell(random));
+        }
+        BoardSnapshot before = board.snapshot();
+        Set<HexPosition> blockedBefore = board.getBlockedPositions();
+        long hashBefore = board.getZobristHash();
+        int distanceBefore = board.getDistanceToBorder(HexPosition.of(0, 0));
+
+        for (int i = 0; i < 40; i++) {
+            board.makeMove(randomCell(random));
+        }
+        assertEquals(blockedBefore.size(), before.getBlockedCount());
+        blockedBefore.forEach(pos -> assertTrue(before.isBlocked(pos)));
+
+        board.restore(before);
+        assertEquals(blockedBefore, board.getBlockedPositions());
+        assertEquals(hashBefore, board.getZobristHash());
+        assertEquals(distanceBefore, board.getDistanceToBorder(HexPosition.of(0, 0)));
+        assertEquals(blockedBefore, new BitSetHexGameBoard(before).getBlockedPositions());
+    }
+
+    @Test
+    void testTentativeMoveNeverTouchesBoard() {
+        // Test: El movimiento hipotético solo se ve dentro de la evaluación
+        HexPosition center = HexPosition.of(0, 0);
+        for (int i = 0; i < 5; i++) {
+            board.makeMove(center.neighbor(i));
+        }
+        long hash = board.getZobristHash();
+        HexPosition last = center.neighbor(5);
+
+        boolean escapes = board.withTentativeMove(last, probe -> {
+            assertTrue(probe.isBlocked(last));
+            assertEquals(6, probe.getBlockedPositions().size());
+            return ((HexGameBoard) probe).hasEscapeRoute(center);
+        });
+
+        assertFalse(escapes);
+        assertFalse(board.isBlocked(last));
+        assertEquals(hash, board.getZobristHash());
+        assertTrue(board.hasEscapeRoute(center));
+    }
+
+    @Test
+    void testDefaultTentativeMoveUsesPrivateCopy() {
+        // Test: La capa por defecto ve la posición bloqueada sin tocar el tablero de origen
+        ExampleGameBoard example = new ExampleGameBoard(6);
+        HexPosition center = HexPosition.of(0, 0);
+        HexPosition last = center.neighbor(5);
+        for (int i = 0; i < 5; i++) {
+            example.makeMove(center.neighbor(i));
+        }
+        long version = example.getVersion();
+
+        int free = example.withTentativeMove(last, probe -> {
+            assertNotSame(example, probe);
+            assertTrue(probe.isBlocked(last));
+            assertFalse(example.isBlocked(last)); // El origen sigue igual durante la evaluación
+            assertTrue(probe.getAdjacentPositions(center).isEmpty());
+            int[] count = {0};
+            probe.forEachFreeNeighbor(probe.indexOf(center), neighbor -> count[0]++);
+            return count[0];
+        });
+
+        assertEquals(0, free);
+        assertFalse(example.isBlocked(last));
+        assertEquals(version, example.getVersion());
+        assertEquals(1, example.countFreeNeighbors(center));
+    }
+
+    @Test
+    void testPoolReusesClearedBoards() {
+        // Test: Un tablero devuelto a la reserva vuelve vacío y con distancias al día
+        HexGameBoardPool pool = new HexGameBoardPool(1);
+        HexGameBoard first = pool.acquire(6);
+        first.makeMove(HexPosition.of(1, 0));
+        first.makeMove(HexPosition.of(0, 1));
+        assertTrue(pool.release(first));
+        assertFalse(pool.release(new BitSetHexGameBoard(6))); // Reserva llena
+        assertFalse(pool.release(new HexGameBoard(6))); // Tipo no reutilizable
+
+        HexGameBoard second = pool.acquire(6);
+        assertSame(first, second);
+        assertEquals(0, second.getBlockedCount());
+        assertTrue(second.getBlockedPositions().isEmpty());
+        assertEquals(5, second.getDistanceToBorder(HexPosition.of(0, 0)));
+        assertEquals(0, pool.getIdleCount(6));
+    }
+
+    private HexPosition randomCell(Random random) {
+        int cells = board.getTopology().getCellCount();
+        return board.getTopology().positionAt(random.nextInt(cells));
+    }
+}
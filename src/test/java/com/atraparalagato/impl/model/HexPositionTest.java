@@ -133,6 +133,58 @@ class HexPositionTest {
         assertNotEquals(origin, "not a position");
     }
     
+    @Test
+    void testCanonicalInstances() {
+        // Test: of() devuelve siempre la misma instancia dentro de la tabla
+        assertSame(HexPosition.of(2, -1), HexPosition.of(2, -1));
+        assertSame(HexPosition.of(1, 0), origin.add(adjacent));
+        assertSame(HexPosition.of(0, 0), adjacent.subtract(adjacent));
+        assertEquals(origin, HexPosition.of(0, 0));
+
+        // Fuera de la tabla se crean posiciones nuevas, pero siguen siendo iguales por valor
+        int far = HexPosition.INTERN_RADIUS + 1;
+        assertEquals(new HexPosition(far, 0), HexPosition.of(far, 0));
+    }
+
+    @Test
+    void testNeighbors() {
+        // Test: Los 6 vecinos son adyacentes y distintos
+        for (int i = 0; i < 6; i++) {
+            HexPosition neighbor = origin.neighbor(i);
+            assertTrue(origin.isAdjacentTo(neighbor));
+            assertSame(neighbor, origin.add(HexPosition.direction(i)));
+        }
+    }
+
+    @Test
+    void testDenseIndexRoundTrip() {
+        // Test: toIndex/fromIndex recorren todas las celdas sin huecos ni repetidos
+        int radius = 5;
+        int count = HexPosition.cellCount(radius);
+        assertEquals(91, count);
+
+        for (int i = 0; i < count; i++) {
+            HexPosition pos = HexPosition.fromIndex(i, radius);
+            assertTrue(pos.isWithinBounds(radius));
+            assertEquals(i, pos.toIndex(radius));
+        }
+        assertEquals(-1, new HexPosition(radius + 1, 0).toIndex(radius));
+        assertThrows(IllegalArgumentException.class, () -> HexPosition.fromIndex(count, radius));
+    }
+
+    @Test
+    void testPrimitiveDistance() {
+        // Test: Las operaciones sobre índices coinciden con las de objetos
+        int radius = 5;
+        int a = origin.toIndex(radius);
+        int b = distant.toIndex(radius);
+
+        assertEquals(5, HexPosition.hexDistance(a, b, radius));
+        assertTrue(HexPosition.isAdjacent(a, adjacent.toIndex(radius), radius));
+        assertFalse(HexPosition.isAdjacent(a, a, radius));
+        assertEquals(5, origin.hexDistanceTo(distant));
+    }
+
     @Test
     void testToString() {
         // Test: Representación en string
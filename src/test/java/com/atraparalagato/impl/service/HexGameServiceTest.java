@@ -0,0 +1,339 @@
+package com.atraparalagato.impl.service;
+
+import com.atraparalagato.base.repository.DataRepository;
+import com.atraparalagato.impl.model.HexGameBoard;
+import com.atraparalagato.impl.model.HexGameBoardPool;
+import com.atraparalagato.impl.model.HexGameState;
+import com.atraparalagato.impl.model.HexPosition;
+import com.atraparalagato.impl.strategy.AlphaBetaCatMovement;
+import com.atraparalagato.impl.strategy.DStarLiteCatMovement;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Tests del servicio hexagonal a través de un repositorio.
+ *
+ * Conceptos de testing:
+ * - Repositorio falso que, como el de H2, arma un estado nuevo en cada búsqueda
+ * - Verificar que lo que debe durar entre turnos no depende de esas copias
+ */
+class HexGameServiceTest {
+
+    private SerializingRepository repository;
+    private HexGameService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new SerializingRepository();
+        service = new HexGameService(repository);
+    }
+
+    @Test
+    void testTurnsUseTheLiveGame() {
+        // Test: Las consultas de una partida en curso no recargan el estado del repositorio
+        String gameId = service.startNewGame(6, "normal", Map.of()).getGameId();
+        HexGameState live = service.getGameState(gameId).orElseThrow();
+
+        playTurn(gameId);
+        playTurn(gameId);
+
+        assertSame(live, service.getGameState(gameId).orElseThrow());
+        assertEquals(0, repository.loads);
+        assertEquals(2, live.getMoveCount());
+    }
+
+    @Test
+    void testUndoAndRedoThroughService() {
+        // Test: Deshacer desde el servicio vuelve al turno anterior aunque el repositorio
+        // solo guarde el estado serializado
+        String gameId = service.startNewGame(6, "normal", Map.of()).getGameId();
+        playTurn(gameId);
+        playTurn(gameId);
+
+        HexGameState before = service.getGameState(gameId).orElseThrow();
+        Set<HexPosition> blockedBefore = before.getGameBoard().getBlockedPositions();
+        HexPosition catBefore = before.getCatPosition();
+        HexPosition blocked = playTurn(gameId);
+
+        HexGameState undone = service.undoLastMove(gameId).orElseThrow();
+        assertEquals(2, undone.getMoveCount());
+        assertEquals(catBefore, undone.getCatPosition());
+        assertEquals(blockedBefore, undone.getGameBoard().getBlockedPositions());
+        assertFalse(undone.getGameBoard().isBlocked(blocked));
+        assertEquals(2, savedMoveCount(gameId));
+
+        HexGameState redone = service.redoLastMove(gameId).orElseThrow();
+        assertEquals(3, redone.getMoveCount());
+        assertTrue(redone.getGameBoard().isBlocked(blocked));
+        assertEquals(3, savedMoveCount(gameId));
+    }
+
+    @Test
+    void testReleasedGameReloadsFromRepository() {
+        // Test: Una partida soltada se vuelve a cargar del repositorio con sus bloqueos
+        String gameId = service.startNewGame(6, "normal", Map.of()).getGameId();
+        playTurn(gameId);
+        playTurn(gameId);
+        HexGameState live = service.getGameState(gameId).orElseThrow();
+        Set<HexPosition> blocked = live.getGameBoard().getBlockedPositions();
+        HexPosition cat = live.getCatPosition();
+
+        service.releaseGame(gameId);
+        assertTrue(live.isReleased());
+        // El estado salió del servicio con getGameState: su tablero no se reutiliza
+        assertEquals(blocked, live.getGameBoard().getBlockedPositions());
+
+        HexGameState reloaded = service.getGameState(gameId).orElseThrow();
+        assertNotSame(live, reloaded);
+        assertEquals(1, repository.loads);
+        assertEquals(blocked, reloaded.getGameBoard().getBlockedPositions());
+        assertEquals(cat, reloaded.getCatPosition());
+        assertEquals(2, reloaded.getMoveCount());
+
+        // Desde ahí la partida vuelve a estar viva
+        assertSame(reloaded, service.getGameState(gameId).orElseThrow());
+        assertEquals(1, repository.loads);
+    }
+
+    @Test
+    void testCatReplansIncrementallyAcrossTurns() {
+        // Test: En dificultad normal el gato se mueve cada turno con la misma instancia de
+        // D* Lite, que repara su plan sin empezar de cero y elige un paso tan corto como
+        // el de un plan nuevo
+        String gameId = service.startNewGame(6, "normal", Map.of()).getGameId();
+        HexGameState live = service.getGameState(gameId).orElseThrow();
+        HexGameBoard board = live.getGameBoard();
+
+        DStarLiteCatMovement strategy = null;
+        for (int turn = 0; turn < 3 && !live.isGameFinished(); turn++) {
+            HexPosition catBefore = live.getCatPosition();
+            playTurn(gameId);
+            HexPosition catAfter = live.getCatPosition();
+            assertNotEquals(catBefore, catAfter);
+
+            DStarLiteCatMovement current = (DStarLiteCatMovement) service.getMovementStrategy(live);
+            if (strategy != null) {
+                assertSame(strategy, current);
+            }
+            strategy = current;
+            assertEquals(1, strategy.getFullReplans());
+
+            HexPosition freshMove = new DStarLiteCatMovement(board).findBestMove(catBefore, null).orElseThrow();
+            assertEquals(board.getDistanceToBorder(freshMove), board.getDistanceToBorder(catAfter));
+            assertEquals(board.getDistanceToBorder(catBefore) - 1, board.getDistanceToBorder(catAfter));
+        }
+        assertTrue(live.getMoveCount() >= 2);
+    }
+
+    @Test
+    void testHardGameKeepsItsSearchBetweenTurns() {
+        // Test: En dificultad difícil la misma búsqueda alfa-beta (con su tabla de
+        // transposición) responde todos los turnos; al soltar la partida se descarta
+        String gameId = service.startNewGame(6, "dificil", Map.of()).getGameId();
+        HexGameState live = service.getGameState(gameId).orElseThrow();
+
+        playTurn(gameId);
+        var first = service.getMovementStrategy(live);
+        assertTrue(first instanceof AlphaBetaCatMovement);
+        playTurn(gameId);
+        assertSame(first, service.getMovementStrategy(live));
+
+        service.releaseGame(gameId);
+        HexGameState reloaded = service.getGameState(gameId).orElseThrow();
+        assertNotSame(first, service.getMovementStrategy(reloaded));
+    }
+
+    @Test
+    void testFinishedGameReturnsItsBoardToThePool() {
+        // Test: Al terminar la partida su tablero vuelve a la reserva, después de que la
+        // vista de la jugada lo leyó
+        int size = 4; // Tamaño que no usa ningún otro test del servicio
+        String gameId = service.startNewGame(size, "normal", Map.of(), HexGameState::getGameId);
+        int idle = HexGameBoardPool.shared().getIdleCount(size);
+
+        boolean finished = false;
+        for (int turn = 0; turn < 10 && !finished; turn++) {
+            HexPosition cell = service.withGame(gameId, HexGameServiceTest::farthestFreeCell).orElseThrow();
+            finished = service.executePlayerMove(gameId, cell, "player", gameState -> {
+                assertNotNull(gameState.getGameBoard()); // Todavía retenido por la vista
+                return gameState.isGameFinished();
+            }).orElseThrow();
+        }
+
+        assertTrue(finished);
+        assertEquals(idle + 1, HexGameBoardPool.shared().getIdleCount(size));
+    }
+
+    @Test
+    void testEvictedGameKeepsItsBoardWhileInUse() {
+        // Test: Una partida que expira mientras se la lee conserva su tablero hasta que
+        // termina la lectura, y la siguiente jugada la recarga del repositorio
+        int size = 5; // Tamaño que no usa ningún otro test del servicio
+        String gameId = service.startNewGame(size, "normal", Map.of(), HexGameState::getGameId);
+        HexPosition first = service.withGame(gameId, HexGameServiceTest::farthestFreeCell).orElseThrow();
+        service.executePlayerMove(gameId, first, "player", gameState -> null);
+        int[] idleWhileReading = {-1};
+
+        service.withGame(gameId, gameState -> {
+            for (int i = 0; i < HexGameService.MAX_ACTIVE_GAMES; i++) {
+                service.startNewGame(6, "normal", Map.of(), HexGameState::getGameId);
+            }
+            assertTrue(gameState.isReleased());
+            assertTrue(gameState.getGameBoard().isBlocked(first)); // No se limpió ni se reutilizó
+            idleWhileReading[0] = HexGameBoardPool.shared().getIdleCount(size);
+            return null;
+        });
+        assertEquals(idleWhileReading[0] + 1, HexGameBoardPool.shared().getIdleCount(size));
+
+        HexPosition second = service.withGame(gameId, HexGameServiceTest::farthestFreeCell).orElseThrow();
+        int moves = service.executePlayerMove(gameId, second, "player", HexGameState::getMoveCount).orElseThrow();
+        assertEquals(2, moves);
+        assertEquals(1, repository.loads);
+    }
+
+    @Test
+    void testSuggestionForEnclosedCatBlocksANeighbor() {
+        // Test: Con el gato ya encerrado no hay corte: la pista es un vecino libre del gato
+        String gameId = service.startNewGame(6, "normal", Map.of()).getGameId();
+        HexGameState live = service.getGameState(gameId).orElseThrow();
+        HexGameBoard board = live.getGameBoard();
+        HexPosition cat = live.getCatPosition();
+        board.getPositionsWhere(pos -> pos.getRing() == 2).forEach(board::makeMove);
+        assertFalse(board.hasEscapeRoute(cat));
+
+        HexPosition suggestion = service.getIntelligentSuggestion(gameId, "dificil").orElseThrow();
+        assertTrue(suggestion.isAdjacentTo(cat));
+        assertFalse(board.isBlocked(suggestion));
+    }
+
+    // Bloquea la celda libre más lejana al gato (la partida no termina en pocos turnos)
+    private HexPosition playTurn(String gameId) {
+        HexPosition cell = farthestFreeCell(service.getGameState(gameId).orElseThrow());
+        service.executePlayerMove(gameId, cell, "player");
+        return cell;
+    }
+
+    private static HexPosition farthestFreeCell(HexGameState gameState) {
+        HexGameBoard board = gameState.getGameBoard();
+        HexPosition cat = gameState.getCatPosition();
+        return board.getPositionsWhere(board::isValidMove).stream()
+                .filter(pos -> !pos.equals(cat))
+                .max(Comparator.comparingDouble(pos -> pos.distanceTo(cat)))
+                .orElseThrow();
+    }
+
+    private int savedMoveCount(String gameId) {
+        return (int) repository.saved.get(gameId).get("moveCount");
+    }
+
+    /**
+     * Guarda solo el estado serializado y arma un HexGameState nuevo en cada búsqueda.
+     */
+    private static final class SerializingRepository extends DataRepository<HexGameState, String> {
+
+        private final Map<String, Map<String, Object>> saved = new HashMap<>();
+        private int loads;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public HexGameState save(HexGameState entity) {
+            saved.put(entity.getGameId(), new HashMap<>((Map<String, Object>) entity.getSerializableState()));
+            return entity;
+        }
+
+        @Override
+        public Optional<HexGameState> findById(String id) {
+            Map<String, Object> state = saved.get(id);
+            if (state == null) {
+                return Optional.empty();
+            }
+            loads++;
+            HexGameState gameState = new HexGameState(id, (int) state.get("boardSize"));
+            gameState.restoreFromSerializable(state);
+            return Optional.of(gameState);
+        }
+
+        @Override
+        public List<HexGameState> findAll() {
+            List<HexGameState> all = new ArrayList<>();
+            for (String id : saved.keySet()) {
+                findById(id).ifPresent(all::add);
+            }
+            return all;
+        }
+
+        @Override
+        public List<HexGameState> findWhere(Predicate<HexGameState> condition) {
+            return findAll().stream().filter(condition).toList();
+        }
+
+        @Override
+        public <R> List<R> findAndTransform(Predicate<HexGameState> condition,
+                                           Function<HexGameState, R> transformer) {
+            return findWhere(condition).stream().map(transformer).toList();
+        }
+
+        @Override
+        public long countWhere(Predicate<HexGameState> condition) {
+            return findWhere(condition).size();
+        }
+
+        @Override
+        public boolean deleteById(String id) {
+            return saved.remove(id) != null;
+        }
+
+        @Override
+        public long deleteWhere(Predicate<HexGameState> condition) {
+            List<HexGameState> matches = findWhere(condition);
+            matches.forEach(game -> saved.remove(game.getGameId()));
+            return matches.size();
+        }
+
+        @Override
+        public boolean existsById(String id) {
+            return saved.containsKey(id);
+        }
+
+        @Override
+        public <R> R executeInTransaction(Function<DataRepository<HexGameState, String>, R> operation) {
+            return operation.apply(this);
+        }
+
+        @Override
+        public List<HexGameState> findWithPagination(int page, int size) {
+            return findAll().stream().skip((long) page * size).limit(size).toList();
+        }
+
+        @Override
+        public List<HexGameState> findAllSorted(Function<HexGameState, ? extends Comparable<?>> sortKeyExtractor,
+                                                boolean ascending) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <R> List<R> executeCustomQuery(String query, Function<Object, R> resultMapper) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected void initialize() {
+        }
+
+        @Override
+        protected void cleanup() {
+        }
+    }
+}
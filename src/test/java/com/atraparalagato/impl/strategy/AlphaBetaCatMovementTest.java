@@ -0,0 +1,89 @@
+package com.atraparalagato.impl.strategy;
+
+import com.atraparalagato.impl.model.BitSetHexGameBoard;
+import com.atraparalagato.impl.model.HexGameBoard;
+import com.atraparalagato.impl.model.HexPosition;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * Tests de la búsqueda alfa-beta del gato.
+ *
+ * Conceptos de testing:
+ * - Posiciones construidas a mano con un resultado forzado
+ * - Cota de tiempo: la búsqueda respeta su presupuesto por movimiento
+ */
+class AlphaBetaCatMovementTest {
+
+    private static final int SIZE = 6;
+
+    @Test
+    void testFindsForcedOnePlyEscape() {
+        // Test: Con una sola celda de borde libre al lado, el gato sale por ella aunque
+        // otros vecinos sigan libres
+        HexGameBoard board = new BitSetHexGameBoard(SIZE);
+        HexPosition cat = HexPosition.of(SIZE - 2, 0);
+        HexPosition exit = null;
+        for (int d = 0; d < 6; d++) {
+            HexPosition neighbor = cat.neighbor(d);
+            if (board.isAtBorder(neighbor) && board.indexOf(neighbor) >= 0) {
+                if (exit == null) {
+                    exit = neighbor;
+                } else {
+                    board.makeMove(neighbor);
+                }
+            }
+        }
+        assertNotNull(exit);
+
+        AlphaBetaCatMovement strategy = new AlphaBetaCatMovement(board);
+        assertEquals(exit, strategy.findBestMove(cat, null).orElseThrow());
+        assertFalse(board.isBlocked(exit)); // La búsqueda no toca el tablero
+    }
+
+    @Test
+    void testTableIsReservedLazilyAndSizedByBoard() {
+        // Test: La tabla de transposición se reserva en la primera búsqueda y crece con el
+        // tablero: una partida de 397 celdas no paga la tabla máxima
+        HexGameBoard board = new BitSetHexGameBoard(11);
+        AlphaBetaCatMovement strategy = new AlphaBetaCatMovement(board, 5);
+        assertEquals(0, strategy.getTableSize());
+
+        strategy.findBestMove(HexPosition.of(0, 0), null);
+        int slots = strategy.getTableSize();
+        assertEquals(4096, slots);
+        assertTrue(slots >= 8 * board.getTopology().getCellCount());
+    }
+
+    @Test
+    void testSearchRespectsTimeBudget() {
+        // Test: En un tablero abierto (sin resultado forzado) cada movimiento termina
+        // cerca del presupuesto, con un margen para la última profundidad cortada
+        long budgetMillis = 30;
+        HexGameBoard board = new BitSetHexGameBoard(9);
+        Random random = new Random(4);
+        int cells = board.getTopology().getCellCount();
+        for (int i = 0; i < 15; i++) {
+            HexPosition cell = board.positionAt(random.nextInt(cells));
+            if (cell.getRing() > 1) {
+                board.makeMove(cell);
+            }
+        }
+        AlphaBetaCatMovement strategy = new AlphaBetaCatMovement(board, budgetMillis);
+        HexPosition cat = HexPosition.of(0, 0);
+        strategy.findBestMove(cat, null); // Calentamiento: reserva los buffers
+
+        for (int turn = 0; turn < 3; turn++) {
+            long started = System.nanoTime();
+            HexPosition move = strategy.findBestMove(cat, null).orElseThrow();
+            long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+            assertTrue(elapsedMillis < budgetMillis + 250, "tardó " + elapsedMillis + " ms");
+            assertEquals(1, cat.hexDistanceTo(move));
+            assertFalse(board.isBlocked(move));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.atraparalagato.impl.strategy;
+
+import com.atraparalagato.impl.model.BitSetHexGameBoard;
+import com.atraparalagato.impl.model.HexGameBoard;
+import com.atraparalagato.impl.model.HexPosition;
+import com.atraparalagato.impl.model.HexTopology;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+
+/**
+ * Tableros aleatorios y búsquedas de referencia para los tests de estrategias.
+ *
+ * Las búsquedas son deliberadamente simples (BFS sin optimizar) para comparar contra
+ * ellas lo que calculan los motores.
+ */
+final class BoardFixtures {
+
+    private BoardFixtures() {
+    }
+
+    // Tablero con hasta "blocks" celdas bloqueadas al azar, sin tocar el centro (semilla del llamador)
+    static HexGameBoard randomBoard(Random random, int size, int blocks) {
+        HexGameBoard board = new BitSetHexGameBoard(size);
+        int cells = board.getTopology().getCellCount();
+        HexPosition center = HexPosition.of(0, 0);
+        for (int i = 0; i < blocks; i++) {
+            HexPosition cell = board.positionAt(random.nextInt(cells));
+            if (!cell.equals(center)) {
+                board.makeMove(cell);
+            }
+        }
+        return board;
+    }
+
+    static HexPosition randomFreeCell(HexGameBoard board, Random random) {
+        int cells = board.getTopology().getCellCount();
+        while (true) {
+            HexPosition position = board.positionAt(random.nextInt(cells));
+            if (!board.isBlocked(position)) {
+                return position;
+            }
+        }
+    }
+
+    // Pasos de un BFS simple sobre posiciones hasta el destino (o el borde si es null); -1 si no hay
+    static int bfsDistance(HexGameBoard board, HexPosition from, HexPosition to) {
+        Map<HexPosition, Integer> distance = new HashMap<>();
+        Queue<HexPosition> queue = new ArrayDeque<>();
+        distance.put(from, 0);
+        queue.add(from);
+        while (!queue.isEmpty()) {
+            HexPosition current = queue.poll();
+            if (to == null ? board.isAtBorder(current) : current.equals(to)) {
+                return distance.get(current);
+            }
+            for (int d = 0; d < 6; d++) {
+                HexPosition next = current.neighbor(d);
+                if (board.indexOf(next) >= 0 && !board.isBlocked(next) && !distance.containsKey(next)) {
+                    distance.put(next, distance.get(current) + 1);
+                    queue.add(next);
+                }
+            }
+        }
+        return -1;
+    }
+
+    // BFS simple por índices, con las celdas de "extra" también bloqueadas; marca en
+    // "seen" lo que alcanza sin pasar por el borde y retorna si llegó a él
+    static boolean reachesBorder(HexGameBoard board, int cat, boolean[] extra, boolean[] seen) {
+        HexTopology topology = board.getTopology();
+        int[] queue = new int[topology.getCellCount()];
+        int head = 0;
+        int tail = 0;
+        boolean reached = false;
+        seen[cat] = true;
+        queue[tail++] = cat;
+        while (head < tail) {
+            int cell = queue[head++];
+            if (board.isAtBorder(cell)) {
+                reached = true;
+                continue;
+            }
+            for (int k = topology.neighborStart(cell); k < topology.neighborEnd(cell); k++) {
+                int next = topology.neighborAt(k);
+                if (!seen[next] && !extra[next] && !board.isBlocked(next)) {
+                    seen[next] = true;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return reached;
+    }
+}
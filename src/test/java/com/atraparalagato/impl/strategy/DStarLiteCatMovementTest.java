@@ -0,0 +1,97 @@
+package com.atraparalagato.impl.strategy;
+
+import com.atraparalagato.impl.model.BitSetHexGameBoard;
+import com.atraparalagato.impl.model.HexGameBoard;
+import com.atraparalagato.impl.model.HexPosition;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * Tests del replanificador incremental D* Lite.
+ *
+ * Conceptos de testing:
+ * - Bloquear celdas del camino actual y comparar el costo reparado contra un BFS nuevo
+ * - Verificar que la reparación no vuelve a planificar desde cero
+ */
+class DStarLiteCatMovementTest {
+
+    private static final int SIZE = 7;
+
+    @Test
+    void testBlockingThePathMatchesFreshBfs() {
+        // Test: Tras bloquear una celda del camino (y avanzar el gato), el costo del gato
+        // es el de un BFS nuevo y el plan se repara sin empezar de cero
+        Random random = new Random(22);
+        for (int round = 0; round < 50; round++) {
+            HexGameBoard board = BoardFixtures.randomBoard(random, SIZE, random.nextInt(25));
+            HexPosition cat = HexPosition.of(0, 0);
+            DStarLiteCatMovement strategy = new DStarLiteCatMovement(board);
+
+            for (int turn = 0; turn < 12 && !board.isAtBorder(cat) && strategy.hasPathToGoal(cat); turn++) {
+                // El jugador bloquea la primera o la segunda celda del camino actual
+                HexPosition next = strategy.findBestMove(cat, null).orElseThrow();
+                board.makeMove(random.nextBoolean() ? next : nextOnPath(board, strategy, next));
+                assertCostMatchesBfs(board, strategy, cat, "ronda " + round + " turno " + turn);
+
+                // El gato avanza por el plan reparado
+                HexPosition moved = strategy.findBestMove(cat, null).orElse(cat);
+                if (moved.equals(cat)) {
+                    break;
+                }
+                cat = moved;
+                assertCostMatchesBfs(board, strategy, cat, "ronda " + round + " turno " + turn);
+            }
+            assertEquals(1, strategy.getFullReplans());
+        }
+    }
+
+    @Test
+    void testUndoFallsBackToFullReplan() {
+        // Test: Restaurar el tablero invalida el plan y se vuelve a planificar desde cero
+        HexGameBoard board = new BitSetHexGameBoard(SIZE);
+        HexPosition cat = HexPosition.of(0, 0);
+        DStarLiteCatMovement strategy = new DStarLiteCatMovement(board);
+        var before = board.snapshot();
+        strategy.findBestMove(cat, null);
+        board.makeMove(strategy.findBestMove(cat, null).orElseThrow());
+        strategy.findBestMove(cat, null);
+        assertEquals(1, strategy.getFullReplans());
+
+        board.restore(before);
+        strategy.findBestMove(cat, null);
+        assertEquals(2, strategy.getFullReplans());
+        int expected = BoardFixtures.bfsDistance(board, cat, null);
+        assertEquals(expected, strategy.getCostToBorder(board.indexOf(cat)));
+    }
+
+    private static void assertCostMatchesBfs(HexGameBoard board, DStarLiteCatMovement strategy,
+                                             HexPosition cat, String message) {
+        int expected = BoardFixtures.bfsDistance(board, cat, null);
+        assertEquals(expected >= 0, strategy.hasPathToGoal(cat), message);
+        if (expected >= 0) {
+            int actual = strategy.getCostToBorder(board.indexOf(cat));
+            assertEquals(expected, actual, message);
+        }
+    }
+
+    // Celda siguiente a "from" en el plan actual (el vecino de menor costo)
+    private static HexPosition nextOnPath(HexGameBoard board, DStarLiteCatMovement strategy, HexPosition from) {
+        if (board.isAtBorder(from)) {
+            return from;
+        }
+        HexPosition best = from;
+        int bestCost = strategy.getCostToBorder(board.indexOf(from));
+        for (int d = 0; d < 6; d++) {
+            HexPosition neighbor = from.neighbor(d);
+            if (board.indexOf(neighbor) >= 0 && !board.isBlocked(neighbor)
+                    && strategy.getCostToBorder(board.indexOf(neighbor)) < bestCost) {
+                best = neighbor;
+                bestCost = strategy.getCostToBorder(board.indexOf(neighbor));
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,65 @@
+package com.atraparalagato.impl.strategy;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * Tests del montículo indexado de celdas.
+ *
+ * Conceptos de testing:
+ * - Comparar contra un conjunto ordenado con operaciones aleatorias (semilla fija)
+ */
+class IndexedMinHeapTest {
+
+    @Test
+    void testRandomOperationsMatchSortedSet() {
+        // Test: Agregar, cambiar prioridad y sacar dejan el mismo mínimo que un TreeSet
+        int capacity = 64;
+        IndexedMinHeap heap = new IndexedMinHeap(capacity);
+        long[] keys = new long[capacity];
+        TreeSet<Long> reference = new TreeSet<>(); // (clave << 8) | celda
+        Random random = new Random(17);
+
+        for (int step = 0; step < 5000; step++) {
+            int cell = random.nextInt(capacity);
+            if (random.nextInt(3) == 0) {
+                heap.remove(cell);
+                reference.remove(keys[cell] << 8 | cell);
+            } else {
+                long key = random.nextInt(1000);
+                reference.remove(keys[cell] << 8 | cell);
+                heap.update(cell, key);
+                keys[cell] = key;
+                reference.add(key << 8 | cell);
+            }
+            assertEquals(reference.isEmpty(), heap.isEmpty());
+            assertEquals(reference.contains(keys[cell] << 8 | cell), heap.contains(cell));
+            if (!reference.isEmpty()) {
+                assertEquals(reference.first() >> 8, heap.peekKey(), "paso " + step);
+                assertEquals(heap.peekKey(), keys[heap.peek()]);
+            }
+        }
+    }
+
+    @Test
+    void testClearEmptiesOnlyCurrentCells() {
+        // Test: Después de clear ninguna celda está y se puede volver a llenar
+        IndexedMinHeap heap = new IndexedMinHeap(8);
+        heap.update(3, 30);
+        heap.update(5, 10);
+        heap.clear();
+
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(3));
+        assertFalse(heap.contains(5));
+        heap.update(5, 7);
+        heap.update(3, 2);
+        assertEquals(3, heap.peek());
+        heap.remove(3);
+        assertEquals(5, heap.peek());
+        assertEquals(7, heap.peekKey());
+    }
+}
@@ -0,0 +1,61 @@
+package com.atraparalagato.impl.strategy;
+
+import com.atraparalagato.impl.model.BitSetHexGameBoard;
+import com.atraparalagato.impl.model.HexGameBoard;
+import com.atraparalagato.impl.model.HexPosition;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests del buscador Monte Carlo para el gato y el jugador.
+ *
+ * Conceptos de testing:
+ * - Posiciones con una jugada ganadora: la respuesta no depende del azar
+ */
+class MonteCarloAdvisorTest {
+
+    private static final int SIZE = 6;
+
+    @Test
+    void testSuggestsTheWinningBlock() {
+        // Test: Si al gato le queda un solo vecino libre, la pista es bloquearlo, aunque
+        // haya otras celdas libres cerca
+        HexGameBoard board = new BitSetHexGameBoard(SIZE);
+        HexPosition cat = HexPosition.of(2, 0);
+        HexPosition last = cat.neighbor(0);
+        for (int d = 1; d < 6; d++) {
+            board.makeMove(cat.neighbor(d));
+        }
+
+        MonteCarloAdvisor advisor = new MonteCarloAdvisor(50);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(last, advisor.suggestBlock(board, cat).orElseThrow());
+        }
+        assertFalse(board.isBlocked(last)); // La búsqueda no toca el tablero
+    }
+
+    @Test
+    void testCatTakesTheBorderStep() {
+        // Test: Con un vecino en el borde el gato sale por él
+        HexGameBoard board = new BitSetHexGameBoard(SIZE);
+        HexPosition cat = HexPosition.of(SIZE - 2, 0);
+
+        HexPosition move = new MonteCarloAdvisor(50).suggestCatMove(board, cat).orElseThrow();
+        assertTrue(board.isAtBorder(move));
+        assertEquals(1, cat.hexDistanceTo(move));
+    }
+
+    @Test
+    void testSearchesOpenPosition() {
+        // Test: En una posición abierta la búsqueda juega partidas y sugiere una celda libre
+        HexGameBoard board = new BitSetHexGameBoard(SIZE);
+        HexPosition cat = HexPosition.of(0, 0);
+        MonteCarloAdvisor advisor = new MonteCarloAdvisor(30);
+
+        HexPosition block = advisor.suggestBlock(board, cat).orElseThrow();
+        assertFalse(board.isBlocked(block));
+        assertTrue(cat.hexDistanceTo(block) <= 2 && !block.equals(cat));
+        assertTrue(advisor.getLastPlayouts() > 0);
+    }
+}
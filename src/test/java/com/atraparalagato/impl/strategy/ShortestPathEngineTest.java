@@ -0,0 +1,140 @@
+package com.atraparalagato.impl.strategy;
+
+import com.atraparalagato.impl.model.BitSetHexGameBoard;
+import com.atraparalagato.impl.model.HexGameBoard;
+import com.atraparalagato.impl.model.HexPosition;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests del motor de caminos más cortos (cola de cubetas y BFS bidireccional).
+ *
+ * Conceptos de testing:
+ * - Comparar contra un BFS simple sobre posiciones en tableros aleatorios
+ * - Casos borde: extremos vecinos, destino bloqueado y sin camino
+ */
+class ShortestPathEngineTest {
+
+    private static final int SIZE = 7;
+
+    @Test
+    void testPathToBorderMatchesPlainBfs() {
+        // Test: BFS y A* hacia el borde dan caminos válidos del largo más corto
+        Random random = new Random(21);
+        for (int round = 0; round < 200; round++) {
+            HexGameBoard board = BoardFixtures.randomBoard(random, SIZE, 10 + random.nextInt(50));
+            HexPosition start = BoardFixtures.randomFreeCell(board, random);
+            int expected = BoardFixtures.bfsDistance(board, start, null);
+
+            for (boolean guided : new boolean[]{false, true}) {
+                ShortestPathEngine engine = new ShortestPathEngine(board, guided);
+                List<HexPosition> path = engine.findPathToBorder(start);
+                if (expected < 0) {
+                    assertTrue(path.isEmpty());
+                    assertFalse(engine.hasPathToBorder(start));
+                } else {
+                    assertValidPath(board, path, start, null);
+                    assertEquals(expected, path.size() - 1, "ronda " + round + " guided=" + guided);
+                    assertTrue(board.isAtBorder(path.get(path.size() - 1)));
+                    assertTrue(engine.hasPathToBorder(start));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testPointToPointPathsMatchPlainBfs() {
+        // Test: A* y BFS bidireccional entre dos celdas dan el largo más corto
+        Random random = new Random(8);
+        for (int round = 0; round < 200; round++) {
+            HexGameBoard board = BoardFixtures.randomBoard(random, SIZE, random.nextInt(60));
+            HexPosition from = BoardFixtures.randomFreeCell(board, random);
+            HexPosition to = BoardFixtures.randomFreeCell(board, random);
+            int expected = BoardFixtures.bfsDistance(board, from, to);
+            ShortestPathEngine engine = new ShortestPathEngine(board, false);
+            ShortestPathEngine guided = new ShortestPathEngine(board, true);
+
+            List<HexPosition> bidirectional = engine.findPathBidirectional(from, to);
+            List<HexPosition> astar = guided.findPath(from, to);
+            if (expected < 0) {
+                assertTrue(bidirectional.isEmpty());
+                assertTrue(astar.isEmpty());
+            } else {
+                assertValidPath(board, bidirectional, from, to);
+                assertValidPath(board, astar, from, to);
+                assertEquals(expected, bidirectional.size() - 1, "ronda " + round);
+                assertEquals(expected, astar.size() - 1, "ronda " + round);
+            }
+        }
+    }
+
+    @Test
+    void testAdjacentAndEqualEndpoints() {
+        // Test: Extremos vecinos dan un camino de un paso; el mismo extremo, de cero
+        HexGameBoard board = new BitSetHexGameBoard(SIZE);
+        ShortestPathEngine engine = new ShortestPathEngine(board, false);
+        HexPosition from = HexPosition.of(1, -2);
+        HexPosition to = from.neighbor(3);
+
+        assertEquals(List.of(from, to), engine.findPathBidirectional(from, to));
+        assertEquals(List.of(from, to), engine.findPath(from, to));
+        assertEquals(List.of(from), engine.findPathBidirectional(from, from));
+    }
+
+    @Test
+    void testBlockedTargetHasNoPath() {
+        // Test: Un destino bloqueado no es alcanzable, aunque sea vecino
+        HexGameBoard board = new BitSetHexGameBoard(SIZE);
+        HexPosition from = HexPosition.of(0, 0);
+        HexPosition to = from.neighbor(0);
+        board.makeMove(to);
+
+        ShortestPathEngine engine = new ShortestPathEngine(board, false);
+        assertTrue(engine.findPathBidirectional(from, to).isEmpty());
+        assertTrue(engine.findPath(from, to).isEmpty());
+        assertTrue(new ShortestPathEngine(board, true).findPath(from, to).isEmpty());
+    }
+
+    @Test
+    void testEnclosedStartHasNoPath() {
+        // Test: Rodeado por un anillo de bloqueos no hay camino ni al borde ni afuera
+        HexGameBoard board = new BitSetHexGameBoard(SIZE);
+        HexPosition center = HexPosition.of(0, 0);
+        HexPosition inside = center.neighbor(2);
+        for (int i = 0; i < board.getTopology().getCellCount(); i++) {
+            if (board.getTopology().ringOf(i) == 2) {
+                board.makeMove(board.positionAt(i));
+            }
+        }
+        HexPosition outside = HexPosition.of(4, -1);
+
+        for (boolean guided : new boolean[]{false, true}) {
+            ShortestPathEngine engine = new ShortestPathEngine(board, guided);
+            assertFalse(engine.hasPathToBorder(center));
+            assertTrue(engine.findPathToBorder(center).isEmpty());
+            assertTrue(engine.findPath(center, outside).isEmpty());
+            assertTrue(engine.findPathBidirectional(center, outside).isEmpty());
+            assertEquals(List.of(center, inside), engine.findPathBidirectional(center, inside));
+        }
+    }
+
+    // Camino por celdas libres y vecinas, desde "from" hasta "to" (si no es null)
+    private static void assertValidPath(HexGameBoard board, List<HexPosition> path,
+                                        HexPosition from, HexPosition to) {
+        assertFalse(path.isEmpty());
+        assertEquals(from, path.get(0));
+        if (to != null) {
+            assertEquals(to, path.get(path.size() - 1));
+        }
+        for (int i = 0; i < path.size(); i++) {
+            assertFalse(board.isBlocked(path.get(i)));
+            if (i > 0) {
+                assertEquals(1, path.get(i - 1).hexDistanceTo(path.get(i)));
+            }
+        }
+    }
+}
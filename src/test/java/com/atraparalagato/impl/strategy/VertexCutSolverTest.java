@@ -0,0 +1,120 @@
+package com.atraparalagato.impl.strategy;
+
+import com.atraparalagato.impl.model.BitSetHexGameBoard;
+import com.atraparalagato.impl.model.HexGameBoard;
+import com.atraparalagato.impl.model.HexPosition;
+import com.atraparalagato.impl.model.HexTopology;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests del corte mínimo de celdas entre el gato y el borde.
+ *
+ * Conceptos de testing:
+ * - Comparar el tamaño del corte contra una búsqueda exhaustiva en tableros chicos
+ * - Verificar que bloquear el corte encierra al gato
+ */
+class VertexCutSolverTest {
+
+    @Test
+    void testCutSizeMatchesBruteForce() {
+        // Test: El corte tiene el tamaño del menor conjunto de celdas que encierra al gato,
+        // buscado probando todos los conjuntos de celdas libres de menor a mayor
+        Random random = new Random(25);
+        for (int round = 0; round < 40; round++) {
+            int size = 3 + random.nextInt(2);
+            int blocks = random.nextInt(HexPosition.cellCount(size) / 2);
+            HexGameBoard board = BoardFixtures.randomBoard(random, size, blocks);
+            HexPosition cat = HexPosition.of(0, 0);
+            List<HexPosition> cut = new VertexCutSolver(board).findMinimumCut(cat);
+
+            int expected = bruteForceMinimumCut(board, board.indexOf(cat));
+            assertEquals(expected, cut.size(), "ronda " + round);
+        }
+    }
+
+    @Test
+    void testBlockingTheCutTrapsTheCat() {
+        // Test: Bloquear las celdas del corte deja al gato sin camino al borde, y la celda
+        // sugerida es una de ellas
+        Random random = new Random(52);
+        for (int round = 0; round < 100; round++) {
+            int size = 4 + random.nextInt(4);
+            int blocks = random.nextInt(HexPosition.cellCount(size) / 2);
+            HexGameBoard board = BoardFixtures.randomBoard(random, size, blocks);
+            HexPosition cat = HexPosition.of(0, 0);
+            VertexCutSolver solver = new VertexCutSolver(board);
+            List<HexPosition> cut = solver.findMinimumCut(cat);
+            if (!board.hasEscapeRoute(cat)) {
+                assertTrue(cut.isEmpty());
+                continue;
+            }
+
+            assertTrue(cut.contains(solver.suggestBlock(cat).orElseThrow()));
+            for (HexPosition cell : cut) {
+                assertFalse(cell.equals(cat));
+                assertTrue(board.makeMove(cell), "ronda " + round); // Estaba libre
+            }
+            assertFalse(board.hasEscapeRoute(cat), "ronda " + round);
+        }
+    }
+
+    @Test
+    void testNoCutAtBorderOrWhenEnclosed() {
+        // Test: Sin corte si el gato ya está en el borde o ya está encerrado
+        HexGameBoard board = new BitSetHexGameBoard(5);
+        VertexCutSolver solver = new VertexCutSolver(board);
+        assertTrue(solver.findMinimumCut(HexPosition.of(4, 0)).isEmpty());
+        assertEquals(6, solver.findMinimumCut(HexPosition.of(0, 0)).size());
+
+        HexPosition cat = HexPosition.of(0, 0);
+        for (int d = 0; d < 6; d++) {
+            board.makeMove(cat.neighbor(d));
+        }
+        assertTrue(solver.findMinimumCut(cat).isEmpty());
+        assertTrue(solver.suggestBlock(cat).isEmpty());
+    }
+
+    // Menor cantidad de celdas libres (distintas del gato) que lo encierran; como mucho
+    // sus vecinos, así que basta probar conjuntos de hasta 6 celdas. Solo cuentan las
+    // celdas que el gato alcanza hoy
+    private static int bruteForceMinimumCut(HexGameBoard board, int cat) {
+        HexTopology topology = board.getTopology();
+        boolean[] extra = new boolean[topology.getCellCount()];
+        boolean[] reachable = new boolean[topology.getCellCount()];
+        BoardFixtures.reachesBorder(board, cat, extra, reachable);
+        List<Integer> free = new ArrayList<>();
+        for (int i = 0; i < topology.getCellCount(); i++) {
+            if (i != cat && reachable[i]) {
+                free.add(i);
+            }
+        }
+        for (int k = 0; k <= 6; k++) {
+            if (trySubsets(board, cat, free, extra, 0, k)) {
+                return k;
+            }
+        }
+        throw new AssertionError("El gato no se puede encerrar con sus vecinos");
+    }
+
+    private static boolean trySubsets(HexGameBoard board, int cat, List<Integer> free,
+                                      boolean[] extra, int from, int remaining) {
+        if (remaining == 0) {
+            return !BoardFixtures.reachesBorder(board, cat, extra, new boolean[extra.length]);
+        }
+        for (int i = from; i <= free.size() - remaining; i++) {
+            extra[free.get(i)] = true;
+            boolean trapped = trySubsets(board, cat, free, extra, i + 1, remaining - 1);
+            extra[free.get(i)] = false;
+            if (trapped) {
+                return true;
+            }
+        }
+        return false;
+    }
+}